@@ -19,7 +19,10 @@ public enum ResponseErrorCodeEnum {
     INTERNAL_SERVER_ERROR("E001"),
 
     // HTTP Status Codes 404
-    INVALID_URL("E004");
+    INVALID_URL("E004"),
+
+    // HTTP Status Codes 504
+    DEADLINE_EXCEEDED("E005");
 
     private final String code;
 
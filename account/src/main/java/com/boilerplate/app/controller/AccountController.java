@@ -14,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -32,11 +33,15 @@ public class AccountController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved list of accounts"),
+        @ApiResponse(responseCode = "304", description = "Accounts unchanged since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<BankAccountResponse>> getAllAccounts() {
+    public ResponseEntity<List<BankAccountResponse>> getAllAccounts(WebRequest webRequest) {
         log.info("Received request to get all bank accounts");
+        if (webRequest.checkNotModified(accountService.getAccountsETag("accounts"))) {
+            return null;
+        }
         List<BankAccountResponse> accounts = accountService.getAllAccounts();
         return ResponseEntity.ok(accounts);
     }
@@ -47,11 +52,15 @@ public class AccountController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved balance summary"),
+        @ApiResponse(responseCode = "304", description = "Balances unchanged since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping(value = "/balance", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<BalanceSummaryResponse> getBalanceFromAllAccounts() {
+    public ResponseEntity<BalanceSummaryResponse> getBalanceFromAllAccounts(WebRequest webRequest) {
         log.info("Received request to get balance from all accounts");
+        if (webRequest.checkNotModified(accountService.getAccountsETag("balance"))) {
+            return null;
+        }
         BalanceSummaryResponse balanceSummary = accountService.getBalanceFromAllAccounts();
         return ResponseEntity.ok(balanceSummary);
     }
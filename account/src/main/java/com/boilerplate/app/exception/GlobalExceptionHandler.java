@@ -1,8 +1,10 @@
 package com.boilerplate.app.exception;
 
+import com.boilerplate.app.base.exception.DeadlineExceededException;
 import com.boilerplate.app.constant.ResponseErrorCodeEnum;
 import com.boilerplate.app.model.dto.response.ResponseCodeResponseDto;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -90,6 +92,16 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                 statusCode);
     }
 
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class})
+    public ResponseEntity<ResponseCodeResponseDto> handleDeadlineExceeded(RuntimeException ex) {
+        log.warn("Request deadline exceeded: {}", ex.getMessage());
+        return new ResponseEntity<>(
+                new ResponseCodeResponseDto(
+                        ResponseErrorCodeEnum.DEADLINE_EXCEEDED.getCode(),
+                        "Request deadline exceeded"),
+                HttpStatus.GATEWAY_TIMEOUT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGenericException(Exception ex) {
         log.error("Unexpected error", ex);
@@ -1,7 +1,9 @@
 package com.boilerplate.app.repository;
 
+import com.boilerplate.app.base.model.DataVersion;
 import com.boilerplate.app.model.entity.BankAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +17,7 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, String
     List<BankAccount> findByStatus(String status);
     
     List<BankAccount> findByBankCode(String bankCode);
+
+    @Query("select count(a) as count, max(a.updatedAt) as lastModified from BankAccount a")
+    DataVersion findDataVersion();
 }
@@ -1,5 +1,6 @@
 package com.boilerplate.app.service;
 
+import com.boilerplate.app.base.util.ETagUtil;
 import com.boilerplate.app.model.dto.response.BalanceSummaryResponse;
 import com.boilerplate.app.model.dto.response.BankAccountResponse;
 import com.boilerplate.app.model.entity.BankAccount;
@@ -20,6 +21,15 @@ public class AccountService {
 
     private final BankAccountRepository bankAccountRepository;
 
+    /**
+     * ETag of a response built from the accounts table, derived from row count and latest
+     * updated_at so it can be checked without loading the accounts.
+     */
+    @Transactional(readOnly = true)
+    public String getAccountsETag(String resource) {
+        return ETagUtil.fromVersion(resource, bankAccountRepository.findDataVersion());
+    }
+
     @Transactional(readOnly = true)
     public List<BankAccountResponse> getAllAccounts() {
         log.info("Fetching all bank accounts");
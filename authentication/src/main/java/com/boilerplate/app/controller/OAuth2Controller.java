@@ -1,5 +1,6 @@
 package com.boilerplate.app.controller;
 
+import com.boilerplate.app.base.exception.DeadlineExceededException;
 import com.boilerplate.app.model.request.RequestOAuth2Token;
 import com.boilerplate.app.model.request.RequestValidateToken;
 import com.boilerplate.app.model.response.OAuth2TokenResponse;
@@ -19,6 +20,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -69,6 +71,9 @@ public class OAuth2Controller {
             errorResponse.setResponseMessage(e.getResponseMessage());
             errorResponse.setData(new java.util.LinkedHashMap<>());
             return ResponseEntity.status(e.getHttpStatus()).body(errorResponse);
+        } catch (DeadlineExceededException | QueryTimeoutException e) {
+            // Answered with a 504 by GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             log.error("Unexpected error in getToken: {}", e.getMessage(), e);
             ResponseError errorResponse = new ResponseError();
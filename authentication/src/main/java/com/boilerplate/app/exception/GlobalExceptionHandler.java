@@ -0,0 +1,31 @@
+package com.boilerplate.app.exception;
+
+import com.boilerplate.app.base.exception.DeadlineExceededException;
+import com.boilerplate.app.model.response.ResponseError;
+import com.boilerplate.app.util.ErrorCodeConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.LinkedHashMap;
+
+@Slf4j
+@RestControllerAdvice(basePackages = "com.boilerplate.app.controller")
+public class GlobalExceptionHandler {
+
+    /**
+     * The caller's deadline passed, or a query was cancelled at the deadline by the query timeout
+     * core sets on statements; the gateway has given up on the request already.
+     */
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class})
+    public ResponseEntity<ResponseError> handleDeadlineExceeded(RuntimeException ex) {
+        log.warn("Request deadline exceeded: {}", ex.getMessage());
+        ResponseError errorResponse = new ResponseError();
+        errorResponse.setResponseCode(ErrorCodeConstants.System.CODE_504_00);
+        errorResponse.setResponseMessage(ErrorCodeConstants.System.MESSAGE_504_00);
+        errorResponse.setData(new LinkedHashMap<>());
+        return ResponseEntity.status(ErrorCodeConstants.System.HTTP_STATUS_504).body(errorResponse);
+    }
+}
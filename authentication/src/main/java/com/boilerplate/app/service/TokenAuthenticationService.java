@@ -1,5 +1,6 @@
 package com.boilerplate.app.service;
 
+import com.boilerplate.app.base.exception.DeadlineExceededException;
 import com.boilerplate.app.model.entity.AuthToken;
 import com.boilerplate.app.model.entity.Partner;
 import com.boilerplate.app.repository.AuthTokenRepository;
@@ -9,6 +10,7 @@ import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
@@ -81,6 +83,9 @@ public class TokenAuthenticationService {
                     .findByTokenAndRevokedFalseAndExpiresAtAfter(token, LocalDateTime.now());
 
             return authToken.isPresent() && !claims.getExpiration().before(new Date());
+        } catch (DeadlineExceededException | QueryTimeoutException e) {
+            // Not an invalid token: the gateway must not cache the answer
+            throw e;
         } catch (Exception e) {
             log.error("Error validating token: {}", e.getMessage());
             return false;
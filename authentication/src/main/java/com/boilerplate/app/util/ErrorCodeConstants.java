@@ -62,6 +62,11 @@ public class ErrorCodeConstants {
         public static final int HTTP_STATUS_500 = 500;
         public static final String CODE_500_00 = "50000";
         public static final String MESSAGE_500_00 = "General Error";
+
+        // 504 Gateway Timeout
+        public static final int HTTP_STATUS_504 = 504;
+        public static final String CODE_504_00 = "50400";
+        public static final String MESSAGE_504_00 = "Timeout";
     }
 
     public static class Message {
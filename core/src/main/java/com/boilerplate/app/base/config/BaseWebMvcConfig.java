@@ -1,21 +1,27 @@
 package com.boilerplate.app.base.config;
 
 import com.boilerplate.app.base.interceptor.BaseControllerLoggingInterceptor;
+import com.boilerplate.app.base.resolver.PartnerContextArgumentResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
  * Base WebMVC configuration that automatically registers BaseControllerLoggingInterceptor.
  * This ensures all controller requests are logged when base package is present.
+ * Also lets controllers take the gateway-verified {@link com.boilerplate.app.base.model.PartnerContext} as a parameter.
  */
 @Configuration
 @RequiredArgsConstructor
 public class BaseWebMvcConfig implements WebMvcConfigurer {
 
     private final BaseControllerLoggingInterceptor controllerLoggingInterceptor;
+    private final PartnerContextArgumentResolver partnerContextArgumentResolver;
 
     @Override
     public void addInterceptors(@NonNull InterceptorRegistry registry) {
@@ -26,5 +32,10 @@ public class BaseWebMvcConfig implements WebMvcConfigurer {
                 "/error"         // Exclude error endpoints
             );
     }
+
+    @Override
+    public void addArgumentResolvers(@NonNull List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(partnerContextArgumentResolver);
+    }
 }
 
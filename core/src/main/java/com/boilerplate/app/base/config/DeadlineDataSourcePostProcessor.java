@@ -0,0 +1,96 @@
+package com.boilerplate.app.base.config;
+
+import com.boilerplate.app.base.util.DeadlineContext;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Makes DB access honour the request deadline from {@link DeadlineContext}: statements created
+ * while a request has a deadline get a JDBC query timeout of the remaining time, and once the
+ * deadline has passed no connection or statement is handed out (SQLTimeoutException, which Spring
+ * translates to QueryTimeoutException). Requests without a deadline are not affected.
+ * The DataSource is wrapped in a proxy that still unwraps to the pool for health checks and metrics.
+ */
+@Component
+public class DeadlineDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+            return Proxy.newProxyInstance(
+                DataSource.class.getClassLoader(),
+                new Class<?>[] {DataSource.class},
+                new DataSourceHandler(dataSource));
+        }
+        return bean;
+    }
+
+    private static void checkDeadline() throws SQLTimeoutException {
+        if (DeadlineContext.isExpired()) {
+            throw new SQLTimeoutException("Request deadline exceeded, query not started");
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record DataSourceHandler(DataSource target) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().equals("getConnection")) {
+                return DeadlineDataSourcePostProcessor.invoke(target, method, args);
+            }
+            checkDeadline();
+            Connection connection = (Connection) DeadlineDataSourcePostProcessor.invoke(target, method, args);
+            return Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new ConnectionHandler(connection));
+        }
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            boolean createsStatement = name.equals("createStatement") || name.equals("prepareStatement") || name.equals("prepareCall");
+            if (createsStatement) {
+                checkDeadline();
+            }
+            Object result = DeadlineDataSourcePostProcessor.invoke(target, method, args);
+            if (createsStatement && result instanceof Statement statement) {
+                applyTimeout(statement);
+            }
+            return result;
+        }
+
+        private void applyTimeout(Statement statement) throws java.sql.SQLException {
+            Duration remaining = DeadlineContext.remaining();
+            if (remaining == null) {
+                return;
+            }
+            // JDBC timeouts are in whole seconds, round up so a query is not cut short
+            int seconds = (int) Math.max(1, (remaining.toMillis() + 999) / 1000);
+            int current = statement.getQueryTimeout();
+            if (current == 0 || current > seconds) {
+                statement.setQueryTimeout(seconds);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.boilerplate.app.base.config;
+
+import com.boilerplate.app.base.util.PartnerContextCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Signing key of the X-Partner-Context header, shared by the gateway and the services.
+ * Without partner-context.secret the gateway forwards no context and services resolve none.
+ */
+@Configuration
+@ConditionalOnProperty(name = "partner-context.secret")
+public class PartnerContextConfig {
+
+    @Bean
+    public PartnerContextCodec partnerContextCodec(@Value("${partner-context.secret}") String secret) {
+        return new PartnerContextCodec(secret);
+    }
+}
@@ -0,0 +1,22 @@
+package com.boilerplate.app.base.constant;
+
+/**
+ * Constants for the partner context the gateway forwards after verifying a token.
+ */
+public final class PartnerContextConstants {
+
+    private PartnerContextConstants() {
+        // Utility class
+    }
+
+    // Signed internal header set by the gateway, never accepted from clients
+    public static final String PARTNER_CONTEXT_HEADER = "X-Partner-Context";
+
+    // Token claims the partner context is taken from (see TokenAuthenticationService)
+    public static final String PARTNER_ID_CLAIM = "partnerId";
+    public static final String INTERNAL_PARTNER_ID_CLAIM = "X-INTERNAL-PARTNER-ID";
+    public static final String EXTERNAL_PARTNER_ID_CLAIM = "X-PARTNER-ID";
+
+    // Request attribute holding the decoded context
+    public static final String REQUEST_ATTRIBUTE_PARTNER_CONTEXT = "partnerContext";
+}
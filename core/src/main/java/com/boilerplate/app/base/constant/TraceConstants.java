@@ -12,6 +12,10 @@ public final class TraceConstants {
     // MDC key for trace ID
     public static final String TRACE_ID_KEY = "traceId";
 
+    // W3C trace context headers
+    public static final String TRACEPARENT_HEADER = "traceparent";
+    public static final String TRACESTATE_HEADER = "tracestate";
+
     // Request attribute keys used by the logging interceptor
     public static final String REQUEST_ATTRIBUTE_TRACE_ID = "traceId";
     public static final String REQUEST_ATTRIBUTE_START_TIME = "startTime";
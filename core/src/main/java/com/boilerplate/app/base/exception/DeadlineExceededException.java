@@ -0,0 +1,16 @@
+package com.boilerplate.app.base.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown instead of starting work (a DB query, an outbound call) for a request whose caller
+ * has already given up, see {@link com.boilerplate.app.base.util.DeadlineContext}.
+ */
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,53 @@
+package com.boilerplate.app.base.filter;
+
+import com.boilerplate.app.base.util.DeadlineContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Reads the caller's remaining time from {@link DeadlineContext#HEADER} into {@link DeadlineContext}
+ * for the duration of the request. A request that arrives with no time left is answered with 504
+ * right away instead of being processed for nobody.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Duration remaining = DeadlineContext.parseHeader(request.getHeader(DeadlineContext.HEADER));
+        if (remaining == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (remaining.isZero() || remaining.isNegative()) {
+            log.debug("Rejecting {} {}, caller deadline already passed", request.getMethod(), request.getRequestURI());
+            response.sendError(HttpServletResponse.SC_GATEWAY_TIMEOUT, "Request deadline exceeded");
+            return;
+        }
+
+        DeadlineContext.set(remaining);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DeadlineContext.clear();
+        }
+    }
+}
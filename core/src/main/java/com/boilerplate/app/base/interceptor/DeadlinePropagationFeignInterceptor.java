@@ -0,0 +1,27 @@
+package com.boilerplate.app.base.interceptor;
+
+import com.boilerplate.app.base.util.DeadlineContext;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Passes the current request's remaining time on to Feign calls, and fails the call without
+ * sending it once the deadline has passed. Applied to all Feign clients as a global RequestInterceptor.
+ */
+@Component
+public class DeadlinePropagationFeignInterceptor implements RequestInterceptor {
+
+    @Override
+    public void apply(RequestTemplate template) {
+        Duration remaining = DeadlineContext.remaining();
+        if (remaining == null) {
+            return;
+        }
+        DeadlineContext.checkNotExpired("calling " + template.feignTarget().name());
+        template.removeHeader(DeadlineContext.HEADER);
+        template.headerLiteral(DeadlineContext.HEADER, Long.toString(remaining.toMillis()));
+    }
+}
@@ -0,0 +1,57 @@
+package com.boilerplate.app.base.interceptor;
+
+import com.boilerplate.app.base.constant.TraceConstants;
+import com.boilerplate.app.base.util.TraceContextCodec;
+import com.boilerplate.app.base.util.TraceIdGenerator;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends W3C trace context on every Feign call, so calls between services join the caller's trace.
+ * Uses the current tracer span and its sampling decision if there is one, otherwise the request's
+ * trace ID from MDC (see TraceIdUtil) with a new span ID, not sampled.
+ * Applied to all Feign clients as a global RequestInterceptor.
+ */
+@Component
+public class TracePropagationFeignInterceptor implements RequestInterceptor {
+
+    private final ObjectProvider<Tracer> tracerProvider;
+
+    public TracePropagationFeignInterceptor(ObjectProvider<Tracer> tracerProvider) {
+        this.tracerProvider = tracerProvider;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        String traceparent = currentTraceparent();
+        if (traceparent != null) {
+            template.removeHeader(TraceConstants.TRACEPARENT_HEADER);
+            template.headerLiteral(TraceConstants.TRACEPARENT_HEADER, traceparent);
+        }
+    }
+
+    private String currentTraceparent() {
+        Tracer tracer = tracerProvider.getIfAvailable();
+        Span span = tracer != null ? tracer.currentSpan() : null;
+        if (span != null && span.context() != null) {
+            String traceId = span.context().traceId();
+            String spanId = span.context().spanId();
+            if (traceId != null && !traceId.isEmpty() && spanId != null && !spanId.isEmpty()) {
+                return TraceContextCodec.traceparent(traceId, spanId, Boolean.TRUE.equals(span.context().sampled()));
+            }
+        }
+
+        // No tracer span: continue the trace ID used in the logs, if it has W3C format.
+        // Nothing recorded this trace here, so it is passed on as not sampled.
+        String traceId = MDC.get(TraceConstants.TRACE_ID_KEY);
+        if (!TraceContextCodec.isValidTraceId(traceId)) {
+            return null;
+        }
+        return TraceContextCodec.traceparent(traceId, TraceIdGenerator.spanId(), false);
+    }
+}
@@ -0,0 +1,15 @@
+package com.boilerplate.app.base.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count and latest modification time of a set of rows, used as a cheap version of the data
+ * behind a response (see {@link com.boilerplate.app.base.util.ETagUtil}).
+ * Meant as a Spring Data projection, e.g.
+ * {@code select count(e) as count, max(e.updatedAt) as lastModified from Entity e}.
+ */
+public interface DataVersion {
+    long getCount();
+
+    LocalDateTime getLastModified();
+}
@@ -0,0 +1,34 @@
+package com.boilerplate.app.base.model;
+
+import com.boilerplate.app.base.constant.PartnerContextConstants;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Calling partner of a request, as verified by the gateway from the bearer token.
+ *
+ * @param partnerId         partner's database id (partnerId claim)
+ * @param internalPartnerId partner code (X-INTERNAL-PARTNER-ID claim)
+ * @param externalPartnerId partner's own id given at token request (X-PARTNER-ID claim), or null
+ * @param expiresAt         after this the context must no longer be trusted
+ */
+public record PartnerContext(String partnerId, String internalPartnerId, String externalPartnerId, Instant expiresAt) {
+
+    public static PartnerContext fromClaims(Map<String, Object> claims, Instant expiresAt) {
+        return new PartnerContext(
+            stringOf(claims.get(PartnerContextConstants.PARTNER_ID_CLAIM)),
+            stringOf(claims.get(PartnerContextConstants.INTERNAL_PARTNER_ID_CLAIM)),
+            stringOf(claims.get(PartnerContextConstants.EXTERNAL_PARTNER_ID_CLAIM)),
+            expiresAt
+        );
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    private static String stringOf(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
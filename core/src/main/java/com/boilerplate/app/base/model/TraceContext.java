@@ -0,0 +1,37 @@
+package com.boilerplate.app.base.model;
+
+import com.boilerplate.app.base.util.TraceContextCodec;
+
+/**
+ * W3C trace context of a request, with the IDs kept as numbers so parsing a traceparent
+ * does not allocate a string per ID.
+ *
+ * @param traceIdHigh upper 64 bits of the 128-bit trace ID
+ * @param traceIdLow  lower 64 bits of the trace ID
+ * @param spanId      ID of the calling span (parent-id in traceparent)
+ * @param flags       trace flags, bit 0 is sampled
+ * @param traceState  tracestate header value, or null
+ */
+public record TraceContext(long traceIdHigh, long traceIdLow, long spanId, int flags, String traceState) {
+
+    public static final int FLAG_SAMPLED = 0x01;
+
+    public boolean isSampled() {
+        return (flags & FLAG_SAMPLED) != 0;
+    }
+
+    public String traceIdHex() {
+        return TraceContextCodec.toHex(traceIdHigh, traceIdLow);
+    }
+
+    public String spanIdHex() {
+        return TraceContextCodec.toHex(spanId);
+    }
+
+    /**
+     * Same trace with a new span, for an outbound call made on behalf of this context.
+     */
+    public TraceContext withSpanId(long newSpanId) {
+        return new TraceContext(traceIdHigh, traceIdLow, newSpanId, flags, traceState);
+    }
+}
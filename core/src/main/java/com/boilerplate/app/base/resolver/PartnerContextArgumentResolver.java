@@ -0,0 +1,37 @@
+package com.boilerplate.app.base.resolver;
+
+import com.boilerplate.app.base.model.PartnerContext;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link PartnerContext} controller parameters, null when the request has no verified context.
+ */
+@Component
+@RequiredArgsConstructor
+public class PartnerContextArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final PartnerContextResolver partnerContextResolver;
+
+    @Override
+    public boolean supportsParameter(@NonNull MethodParameter parameter) {
+        return PartnerContext.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(
+            @NonNull MethodParameter parameter,
+            ModelAndViewContainer mavContainer,
+            @NonNull NativeWebRequest webRequest,
+            WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        return request != null ? partnerContextResolver.resolve(request) : null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.boilerplate.app.base.resolver;
+
+import com.boilerplate.app.base.constant.PartnerContextConstants;
+import com.boilerplate.app.base.model.PartnerContext;
+import com.boilerplate.app.base.util.PartnerContextCodec;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the partner context the gateway signed into X-Partner-Context, once per request.
+ * Inject a {@link PartnerContext} controller parameter to get it, see {@link PartnerContextArgumentResolver}.
+ */
+@Slf4j
+@Component
+public class PartnerContextResolver {
+
+    private final PartnerContextCodec codec;
+
+    public PartnerContextResolver(ObjectProvider<PartnerContextCodec> codec) {
+        this.codec = codec.getIfAvailable();
+    }
+
+    /**
+     * @return the verified partner context, or null if the request carries none or an invalid one
+     */
+    public PartnerContext resolve(HttpServletRequest request) {
+        if (request.getAttribute(PartnerContextConstants.REQUEST_ATTRIBUTE_PARTNER_CONTEXT) instanceof PartnerContext context) {
+            return context;
+        }
+        String header = request.getHeader(PartnerContextConstants.PARTNER_CONTEXT_HEADER);
+        if (header == null || codec == null) {
+            return null;
+        }
+
+        PartnerContext context = codec.decode(header);
+        if (context == null) {
+            log.warn("Rejected invalid or expired {} header on {}", PartnerContextConstants.PARTNER_CONTEXT_HEADER, request.getRequestURI());
+            return null;
+        }
+        request.setAttribute(PartnerContextConstants.REQUEST_ATTRIBUTE_PARTNER_CONTEXT, context);
+        return context;
+    }
+}
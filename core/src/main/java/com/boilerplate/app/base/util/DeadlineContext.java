@@ -0,0 +1,82 @@
+package com.boilerplate.app.base.util;
+
+import com.boilerplate.app.base.exception.DeadlineExceededException;
+
+import java.time.Duration;
+
+/**
+ * Deadline of the current request, held per thread like the trace ID in {@link TraceIdUtil}.
+ * Set by DeadlineFilter from the {@link #HEADER} the gateway sends and cleared after the request.
+ * DB statements and Feign calls check it so no work is started for a caller that has timed out.
+ */
+public final class DeadlineContext {
+
+    /** Milliseconds the caller will still wait for the response, relative so clocks need not agree */
+    public static final String HEADER = "X-Request-Timeout-Ms";
+
+    /** Longer deadlines are treated as none, they could not be held in nanoseconds anyway */
+    public static final Duration MAX_TIMEOUT = Duration.ofDays(1);
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private DeadlineContext() {
+        // Utility class
+    }
+
+    /**
+     * @param remaining time left, capped at {@link #MAX_TIMEOUT}
+     */
+    public static void set(Duration remaining) {
+        Duration capped = remaining.compareTo(MAX_TIMEOUT) > 0 ? MAX_TIMEOUT : remaining;
+        DEADLINE_NANOS.set(System.nanoTime() + capped.toNanos());
+    }
+
+    public static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    public static boolean isSet() {
+        return DEADLINE_NANOS.get() != null;
+    }
+
+    /**
+     * @return time left until the deadline (negative once it passed), or null if the request has none
+     */
+    public static Duration remaining() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline != null ? Duration.ofNanos(deadline - System.nanoTime()) : null;
+    }
+
+    public static boolean isExpired() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline != null && deadline - System.nanoTime() <= 0;
+    }
+
+    /**
+     * @throws DeadlineExceededException if the request's deadline has passed
+     */
+    public static void checkNotExpired(String operation) {
+        if (isExpired()) {
+            throw new DeadlineExceededException("Request deadline exceeded before " + operation);
+        }
+    }
+
+    /**
+     * Parses a {@link #HEADER} value.
+     *
+     * @return the remaining time (zero or negative if none is left), or null if the value is
+     * missing, not a number or longer than {@link #MAX_TIMEOUT}
+     */
+    public static Duration parseHeader(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        long millis;
+        try {
+            millis = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return millis <= MAX_TIMEOUT.toMillis() ? Duration.ofMillis(millis) : null;
+    }
+}
@@ -0,0 +1,214 @@
+package com.boilerplate.app.base.util;
+
+import com.boilerplate.app.base.model.TraceContext;
+
+/**
+ * Parses and writes W3C trace context headers (traceparent, tracestate).
+ * Runs on every inbound and outbound call, so it works on characters directly instead of
+ * using regexes, {@code String.format} or intermediate strings: parsing allocates only the
+ * {@link TraceContext} and encoding only the resulting string.
+ */
+public final class TraceContextCodec {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    /** "00-" + 32 + "-" + 16 + "-" + 2 */
+    private static final int TRACEPARENT_LENGTH = 55;
+    private static final int TRACESTATE_MAX_LENGTH = 512;
+    private static final int TRACESTATE_MAX_MEMBERS = 32;
+
+    private TraceContextCodec() {
+        // Utility class
+    }
+
+    /**
+     * @return the trace context of a version 00 traceparent, or null if it is missing or malformed
+     * (including the all-zero trace and span IDs the spec forbids)
+     */
+    public static TraceContext parse(String traceparent, String tracestate) {
+        if (traceparent == null || traceparent.length() < TRACEPARENT_LENGTH) {
+            return null;
+        }
+        // Future versions may append fields, version 00 must be exactly 55 characters
+        if (traceparent.charAt(0) == '0' && traceparent.charAt(1) == '0' && traceparent.length() != TRACEPARENT_LENGTH) {
+            return null;
+        }
+        if (traceparent.charAt(2) != '-' || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-'
+            || (traceparent.length() > TRACEPARENT_LENGTH && traceparent.charAt(TRACEPARENT_LENGTH) != '-')
+            || (traceparent.charAt(0) == 'f' && traceparent.charAt(1) == 'f')) {
+            return null;
+        }
+        try {
+            parseHex(traceparent, 0, 2);
+            long traceIdHigh = parseHex(traceparent, 3, 19);
+            long traceIdLow = parseHex(traceparent, 19, 35);
+            long spanId = parseHex(traceparent, 36, 52);
+            int flags = (int) parseHex(traceparent, 53, 55);
+            if ((traceIdHigh == 0 && traceIdLow == 0) || spanId == 0) {
+                return null;
+            }
+            return new TraceContext(traceIdHigh, traceIdLow, spanId, flags, normalizeTraceState(tracestate));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the traceparent header value of the context
+     */
+    public static String encode(TraceContext context) {
+        return traceparent(context.traceIdHigh(), context.traceIdLow(), context.spanId(), context.flags());
+    }
+
+    public static String traceparent(long traceIdHigh, long traceIdLow, long spanId, int flags) {
+        char[] chars = new char[TRACEPARENT_LENGTH];
+        chars[0] = '0';
+        chars[1] = '0';
+        chars[2] = '-';
+        writeHex(chars, 3, traceIdHigh, 16);
+        writeHex(chars, 19, traceIdLow, 16);
+        chars[35] = '-';
+        writeHex(chars, 36, spanId, 16);
+        chars[52] = '-';
+        writeHex(chars, 53, flags, 2);
+        return new String(chars);
+    }
+
+    /**
+     * Builds a traceparent from trace and span IDs given as hex strings, e.g. by a tracer.
+     * Non-hex characters are skipped, letters lower-cased, and IDs of the wrong length are
+     * cut or padded with zeros on the right.
+     */
+    public static String traceparent(CharSequence traceIdHex, CharSequence spanIdHex, boolean sampled) {
+        char[] chars = new char[TRACEPARENT_LENGTH];
+        chars[0] = '0';
+        chars[1] = '0';
+        chars[2] = '-';
+        copyHex(traceIdHex, chars, 3, 32);
+        chars[35] = '-';
+        copyHex(spanIdHex, chars, 36, 16);
+        chars[52] = '-';
+        chars[53] = '0';
+        chars[54] = sampled ? '1' : '0';
+        return new String(chars);
+    }
+
+    /**
+     * @return whether the value is a W3C trace ID: 32 lower-case hex characters, not all zero
+     */
+    public static boolean isValidTraceId(CharSequence traceId) {
+        if (traceId == null || traceId.length() != 32) {
+            return false;
+        }
+        boolean nonZero = false;
+        for (int i = 0; i < 32; i++) {
+            char c = traceId.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+            nonZero |= c != '0';
+        }
+        return nonZero;
+    }
+
+    /**
+     * @return the tracestate value if it is short enough and well-formed enough to forward,
+     * otherwise null (the spec lets a vendor drop a tracestate it cannot handle)
+     */
+    public static String normalizeTraceState(String tracestate) {
+        if (tracestate == null) {
+            return null;
+        }
+        int length = tracestate.length();
+        if (length == 0 || length > TRACESTATE_MAX_LENGTH) {
+            return null;
+        }
+        int members = 0;
+        boolean memberHasEquals = false;
+        boolean memberEmpty = true;
+        for (int i = 0; i < length; i++) {
+            char c = tracestate.charAt(i);
+            if (c == ',') {
+                if (!memberEmpty) {
+                    if (!memberHasEquals) {
+                        return null;
+                    }
+                    members++;
+                }
+                memberHasEquals = false;
+                memberEmpty = true;
+            } else if (c < 0x20 || c > 0x7e) {
+                return null;
+            } else if (c != ' ' && c != '\t') {
+                memberEmpty = false;
+                if (c == '=') {
+                    memberHasEquals = true;
+                }
+            }
+        }
+        if (!memberEmpty) {
+            if (!memberHasEquals) {
+                return null;
+            }
+            members++;
+        }
+        return members > 0 && members <= TRACESTATE_MAX_MEMBERS ? tracestate : null;
+    }
+
+    public static String toHex(long value) {
+        char[] chars = new char[16];
+        writeHex(chars, 0, value, 16);
+        return new String(chars);
+    }
+
+    public static String toHex(long high, long low) {
+        char[] chars = new char[32];
+        writeHex(chars, 0, high, 16);
+        writeHex(chars, 16, low, 16);
+        return new String(chars);
+    }
+
+    /**
+     * Writes the lowest {@code digits} hex digits of the value, most significant first.
+     */
+    private static void writeHex(char[] dst, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            dst[i] = HEX[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+    }
+
+    private static void copyHex(CharSequence src, char[] dst, int offset, int digits) {
+        int written = 0;
+        if (src != null) {
+            for (int i = 0; i < src.length() && written < digits; i++) {
+                int value = Character.digit(src.charAt(i), 16);
+                if (value >= 0) {
+                    dst[offset + written++] = HEX[value];
+                }
+            }
+        }
+        while (written < digits) {
+            dst[offset + written++] = '0';
+        }
+    }
+
+    /**
+     * Parses lower-case hex as the spec requires; upper-case is rejected.
+     */
+    private static long parseHex(String value, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digit = c - 'a' + 10;
+            } else {
+                throw new IllegalArgumentException("Invalid hex character: " + c);
+            }
+            result = (result << 4) | digit;
+        }
+        return result;
+    }
+}
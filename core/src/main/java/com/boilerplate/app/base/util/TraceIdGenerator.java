@@ -0,0 +1,42 @@
+package com.boilerplate.app.base.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Random trace and span IDs in W3C format (32 and 16 lower-case hex characters).
+ * IDs only need to be unique, not unpredictable, so they come from ThreadLocalRandom
+ * instead of the SecureRandom behind {@code UUID.randomUUID()}, which is slower and can
+ * contend across threads.
+ */
+public final class TraceIdGenerator {
+
+    private TraceIdGenerator() {
+        // Utility class
+    }
+
+    public static String traceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = random.nextLong();
+        long low = nonZero(random);
+        return TraceContextCodec.toHex(high, low);
+    }
+
+    public static String spanId() {
+        return TraceContextCodec.toHex(nextSpanId());
+    }
+
+    /**
+     * @return a span ID as a number, never 0 (invalid in traceparent)
+     */
+    public static long nextSpanId() {
+        return nonZero(ThreadLocalRandom.current());
+    }
+
+    private static long nonZero(ThreadLocalRandom random) {
+        long value;
+        do {
+            value = random.nextLong();
+        } while (value == 0);
+        return value;
+    }
+}
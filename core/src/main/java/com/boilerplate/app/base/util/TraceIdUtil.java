@@ -3,8 +3,6 @@ package com.boilerplate.app.base.util;
 import com.boilerplate.app.base.constant.TraceConstants;
 import org.slf4j.MDC;
 
-import java.util.UUID;
-
 /**
  * Utility for managing trace IDs using SLF4J's MDC (thread-local storage).
  * Trace IDs are generated in preHandle() and cleared in afterCompletion().
@@ -12,11 +10,11 @@ import java.util.UUID;
 public class TraceIdUtil {
 
     /**
-     * Generates a new UUID trace ID and stores it in MDC.
+     * Generates a new W3C trace ID (32 hex characters) and stores it in MDC.
      * Should be called once at the start of each request (in interceptor preHandle()).
      */
     public static String generateAndSet() {
-        String traceId = UUID.randomUUID().toString();
+        String traceId = TraceIdGenerator.traceId();
         MDC.put(TraceConstants.TRACE_ID_KEY, traceId);
         return traceId;
     }
@@ -0,0 +1,92 @@
+package com.boilerplate.app.base.config;
+
+import com.boilerplate.app.base.util.DeadlineContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeadlineDataSourcePostProcessorTests {
+    private static final String SQL = "select 1";
+
+    private final DataSource target = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(SQL)).thenReturn(statement);
+        dataSource = (DataSource) new DeadlineDataSourcePostProcessor().postProcessAfterInitialization(target, "dataSource");
+    }
+
+    @AfterEach
+    void tearDown() {
+        DeadlineContext.clear();
+    }
+
+    @Test
+    void leavesStatementsAloneWithoutDeadline() throws Exception {
+        assertThat(dataSource.getConnection().prepareStatement(SQL)).isSameAs(statement);
+
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+
+    @Test
+    void setsTheRemainingTimeAsQueryTimeoutRoundedUp() throws Exception {
+        DeadlineContext.set(Duration.ofMillis(2500));
+
+        dataSource.getConnection().prepareStatement(SQL);
+
+        verify(statement).setQueryTimeout(3);
+    }
+
+    @Test
+    void keepsAShorterQueryTimeout() throws Exception {
+        when(statement.getQueryTimeout()).thenReturn(2);
+        DeadlineContext.set(Duration.ofSeconds(30));
+
+        dataSource.getConnection().prepareStatement(SQL);
+
+        verify(statement, never()).setQueryTimeout(30);
+    }
+
+    @Test
+    void handsOutNoConnectionOnceTheDeadlineHasPassed() throws Exception {
+        DeadlineContext.set(Duration.ofMillis(-1));
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTimeoutException.class);
+        verify(target, never()).getConnection();
+    }
+
+    @Test
+    void createsNoStatementOnceTheDeadlineHasPassed() throws Exception {
+        Connection opened = dataSource.getConnection();
+        DeadlineContext.set(Duration.ofMillis(-1));
+
+        assertThatThrownBy(() -> opened.prepareStatement(SQL)).isInstanceOf(SQLTimeoutException.class);
+        verify(connection, never()).prepareStatement(SQL);
+    }
+
+    @Test
+    void wrapsEachDataSourceOnce() {
+        DeadlineDataSourcePostProcessor postProcessor = new DeadlineDataSourcePostProcessor();
+
+        assertThat(postProcessor.postProcessAfterInitialization(dataSource, "dataSource")).isSameAs(dataSource);
+        assertThat(postProcessor.postProcessAfterInitialization("not a data source", "other")).isEqualTo("not a data source");
+    }
+}
@@ -0,0 +1,95 @@
+package com.boilerplate.app.base.filter;
+
+import com.boilerplate.app.base.util.DeadlineContext;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeadlineFilterTests {
+    private final DeadlineFilter filter = new DeadlineFilter();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    /** Time left as seen by the rest of the chain, null if it was not called */
+    private final AtomicReference<Duration> seen = new AtomicReference<>();
+    private boolean called;
+
+    @AfterEach
+    void tearDown() {
+        DeadlineContext.clear();
+    }
+
+    @Test
+    void setsTheDeadlineForTheRequestOnly() throws Exception {
+        filter.doFilter(request("2000"), response, chain());
+
+        assertThat(called).isTrue();
+        assertThat(seen.get()).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(2));
+        assertThat(DeadlineContext.isSet()).isFalse();
+    }
+
+    @Test
+    void clearsTheDeadlineWhenTheRequestFails() {
+        FilterChain failing = (request, response) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(request("2000"), response, failing)).hasMessage("boom");
+        assertThat(DeadlineContext.isSet()).isFalse();
+    }
+
+    @Test
+    void rejectsRequestsWithNoTimeLeft() throws Exception {
+        filter.doFilter(request("0"), response, chain());
+        assertThat(response.getStatus()).isEqualTo(504);
+        assertThat(called).isFalse();
+
+        MockHttpServletResponse negative = new MockHttpServletResponse();
+        filter.doFilter(request("-5"), negative, chain());
+        assertThat(negative.getStatus()).isEqualTo(504);
+        assertThat(called).isFalse();
+    }
+
+    @Test
+    void ignoresHugeValues() throws Exception {
+        filter.doFilter(request("99999999999999"), response, chain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(called).isTrue();
+        assertThat(seen.get()).isNull();
+    }
+
+    @Test
+    void ignoresMissingOrInvalidValues() throws Exception {
+        filter.doFilter(request(null), response, chain());
+        assertThat(called).isTrue();
+        assertThat(seen.get()).isNull();
+
+        called = false;
+        filter.doFilter(request("soon"), response, chain());
+        assertThat(called).isTrue();
+        assertThat(seen.get()).isNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private FilterChain chain() {
+        return (request, response) -> {
+            called = true;
+            seen.set(DeadlineContext.remaining());
+        };
+    }
+
+    private static MockHttpServletRequest request(String timeout) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts/1");
+        if (timeout != null) {
+            request.addHeader(DeadlineContext.HEADER, timeout);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,59 @@
+package com.boilerplate.app.base.interceptor;
+
+import com.boilerplate.app.base.exception.DeadlineExceededException;
+import com.boilerplate.app.base.util.DeadlineContext;
+import feign.RequestTemplate;
+import feign.Target;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeadlinePropagationFeignInterceptorTests {
+    private final DeadlinePropagationFeignInterceptor interceptor = new DeadlinePropagationFeignInterceptor();
+
+    @AfterEach
+    void tearDown() {
+        DeadlineContext.clear();
+    }
+
+    @Test
+    void sendsNoDeadlineWithoutOne() {
+        RequestTemplate template = template();
+
+        interceptor.apply(template);
+
+        assertThat(template.headers()).doesNotContainKey(DeadlineContext.HEADER);
+    }
+
+    @Test
+    void sendsTheRemainingTime() {
+        DeadlineContext.set(Duration.ofSeconds(3));
+        RequestTemplate template = template();
+        template.header(DeadlineContext.HEADER, "60000");
+
+        interceptor.apply(template);
+
+        assertThat(template.headers().get(DeadlineContext.HEADER)).singleElement()
+            .satisfies(value -> assertThat(Long.parseLong(value)).isPositive().isLessThanOrEqualTo(3000));
+    }
+
+    @Test
+    void failsTheCallOnceTheDeadlineHasPassed() {
+        DeadlineContext.set(Duration.ofMillis(-1));
+        RequestTemplate template = template();
+
+        assertThatThrownBy(() -> interceptor.apply(template))
+            .isInstanceOf(DeadlineExceededException.class)
+            .hasMessageContaining("service-account");
+    }
+
+    private static RequestTemplate template() {
+        RequestTemplate template = new RequestTemplate();
+        template.feignTarget(new Target.HardCodedTarget<>(Object.class, "service-account", "http://service-account"));
+        return template;
+    }
+}
@@ -0,0 +1,87 @@
+package com.boilerplate.app.base.util;
+
+import com.boilerplate.app.base.exception.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeadlineContextTests {
+
+    @AfterEach
+    void tearDown() {
+        DeadlineContext.clear();
+    }
+
+    @Test
+    void parsesMilliseconds() {
+        assertThat(DeadlineContext.parseHeader("1500")).isEqualTo(Duration.ofMillis(1500));
+        assertThat(DeadlineContext.parseHeader(" 1500 ")).isEqualTo(Duration.ofMillis(1500));
+        assertThat(DeadlineContext.parseHeader(Long.toString(DeadlineContext.MAX_TIMEOUT.toMillis())))
+            .isEqualTo(DeadlineContext.MAX_TIMEOUT);
+    }
+
+    @Test
+    void keepsValuesWithNoTimeLeft() {
+        assertThat(DeadlineContext.parseHeader("0")).isZero();
+        assertThat(DeadlineContext.parseHeader("-250")).isEqualTo(Duration.ofMillis(-250));
+        assertThat(DeadlineContext.parseHeader(Long.toString(Long.MIN_VALUE))).isNegative();
+    }
+
+    @Test
+    void ignoresValuesBeyondTheMaximum() {
+        assertThat(DeadlineContext.parseHeader(Long.toString(DeadlineContext.MAX_TIMEOUT.toMillis() + 1))).isNull();
+        assertThat(DeadlineContext.parseHeader("99999999999999")).isNull();
+        assertThat(DeadlineContext.parseHeader(Long.toString(Long.MAX_VALUE))).isNull();
+    }
+
+    @Test
+    void ignoresValuesThatAreNotNumbers() {
+        assertThat(DeadlineContext.parseHeader(null)).isNull();
+        assertThat(DeadlineContext.parseHeader("")).isNull();
+        assertThat(DeadlineContext.parseHeader("  ")).isNull();
+        assertThat(DeadlineContext.parseHeader("1.5")).isNull();
+        assertThat(DeadlineContext.parseHeader("5s")).isNull();
+        assertThat(DeadlineContext.parseHeader("999999999999999999999")).isNull();
+    }
+
+    @Test
+    void tracksTheRemainingTime() {
+        assertThat(DeadlineContext.isSet()).isFalse();
+        assertThat(DeadlineContext.remaining()).isNull();
+        assertThat(DeadlineContext.isExpired()).isFalse();
+
+        DeadlineContext.set(Duration.ofSeconds(5));
+
+        assertThat(DeadlineContext.isSet()).isTrue();
+        assertThat(DeadlineContext.remaining()).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(5));
+        assertThat(DeadlineContext.isExpired()).isFalse();
+        assertThatNoException().isThrownBy(() -> DeadlineContext.checkNotExpired("querying"));
+
+        DeadlineContext.clear();
+        assertThat(DeadlineContext.isSet()).isFalse();
+    }
+
+    @Test
+    void passedDeadlineIsExpired() {
+        DeadlineContext.set(Duration.ofMillis(-1));
+
+        assertThat(DeadlineContext.isExpired()).isTrue();
+        assertThat(DeadlineContext.remaining()).isNegative();
+        assertThatThrownBy(() -> DeadlineContext.checkNotExpired("querying"))
+            .isInstanceOf(DeadlineExceededException.class)
+            .hasMessageContaining("querying");
+    }
+
+    @Test
+    void capsLongDeadlines() {
+        DeadlineContext.set(Duration.ofMillis(Long.MAX_VALUE));
+
+        assertThat(DeadlineContext.remaining()).isLessThanOrEqualTo(DeadlineContext.MAX_TIMEOUT);
+        assertThat(DeadlineContext.isExpired()).isFalse();
+    }
+}
@@ -0,0 +1,122 @@
+package com.boilerplate.app.base.util;
+
+import com.boilerplate.app.base.model.PartnerContext;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class PartnerContextCodecTests {
+    private static final String SECRET = "partner-context-codec-tests";
+
+    private final PartnerContextCodec codec = new PartnerContextCodec(SECRET);
+    private final Instant expiresAt = Instant.now().plus(Duration.ofMinutes(5)).truncatedTo(ChronoUnit.SECONDS);
+
+    @Test
+    void roundTrip() {
+        PartnerContext context = new PartnerContext("42", "P042", "partner-own-id", expiresAt);
+
+        String header = codec.encode(context);
+
+        assertThat(header).startsWith("v1.");
+        assertThat(codec.decode(header)).isEqualTo(context);
+    }
+
+    @Test
+    void roundTripKeepsMissingValuesMissing() {
+        PartnerContext context = new PartnerContext("42", "P042", null, expiresAt);
+
+        assertThat(codec.decode(codec.encode(context))).isEqualTo(context);
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String header = codec.encode(new PartnerContext("42", "P042", null, expiresAt));
+        String otherPayload = payloadOf(codec.encode(new PartnerContext("43", "P043", null, expiresAt)));
+
+        String tampered = "v1." + otherPayload + header.substring(header.lastIndexOf('.'));
+
+        assertThat(codec.decode(tampered)).isNull();
+    }
+
+    @Test
+    void rejectsTamperedSignature() {
+        String header = codec.encode(new PartnerContext("42", "P042", null, expiresAt));
+        int signatureStart = header.lastIndexOf('.') + 1;
+        char first = header.charAt(signatureStart);
+
+        String tampered = header.substring(0, signatureStart) + (first == 'A' ? 'B' : 'A') + header.substring(signatureStart + 1);
+
+        assertThat(codec.decode(tampered)).isNull();
+    }
+
+    @Test
+    void rejectsContextSignedWithAnotherSecret() {
+        String header = new PartnerContextCodec("another-secret").encode(new PartnerContext("42", "P042", null, expiresAt));
+
+        assertThat(codec.decode(header)).isNull();
+    }
+
+    @Test
+    void rejectsExpiredContext() {
+        String header = codec.encode(new PartnerContext("42", "P042", null, Instant.now().minusSeconds(1)));
+
+        assertThat(codec.decode(header)).isNull();
+    }
+
+    @Test
+    void refusesValuesWithLineBreaks() {
+        PartnerContext context = new PartnerContext("42", "P042\n" + expiresAt.getEpochSecond(), null, expiresAt);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> codec.encode(context));
+    }
+
+    @Test
+    void rejectsSignedPayloadWithMissingFields() {
+        assertThat(codec.decode(signed("42\nP042\n" + expiresAt.getEpochSecond()))).isNull();
+        assertThat(codec.decode(signed(""))).isNull();
+    }
+
+    @Test
+    void rejectsSignedPayloadWithInvalidExpiry() {
+        assertThat(codec.decode(signed("42\nP042\n\nsoon"))).isNull();
+    }
+
+    @Test
+    void rejectsMalformedHeaders() {
+        assertThat(codec.decode(null)).isNull();
+        assertThat(codec.decode("")).isNull();
+        assertThat(codec.decode("v1.")).isNull();
+        assertThat(codec.decode("v1.no-signature")).isNull();
+        assertThat(codec.decode("v1.not*base64.not*base64")).isNull();
+        String header = codec.encode(new PartnerContext("42", "P042", null, expiresAt));
+        assertThat(codec.decode("v2." + header.substring(3))).isNull();
+    }
+
+    private static String payloadOf(String header) {
+        return header.substring(3, header.lastIndexOf('.'));
+    }
+
+    /**
+     * A header over the given raw payload, correctly signed with the shared secret.
+     */
+    private static String signed(String payload) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String encodedPayload = encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return "v1." + encodedPayload + "." + encoder.encodeToString(mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
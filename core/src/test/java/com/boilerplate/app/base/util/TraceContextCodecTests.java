@@ -0,0 +1,135 @@
+package com.boilerplate.app.base.util;
+
+import com.boilerplate.app.base.model.TraceContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceContextCodecTests {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String SPAN_ID = "00f067aa0ba902b7";
+    private static final String TRACEPARENT = "00-" + TRACE_ID + "-" + SPAN_ID + "-01";
+
+    @Test
+    void parsesTraceparent() {
+        TraceContext context = TraceContextCodec.parse(TRACEPARENT, "congo=t61rcWkgMzE");
+
+        assertThat(context).isNotNull();
+        assertThat(context.traceIdHex()).isEqualTo(TRACE_ID);
+        assertThat(context.spanIdHex()).isEqualTo(SPAN_ID);
+        assertThat(context.isSampled()).isTrue();
+        assertThat(context.traceState()).isEqualTo("congo=t61rcWkgMzE");
+    }
+
+    @Test
+    void parsesUnsampledTraceparent() {
+        TraceContext context = TraceContextCodec.parse("00-" + TRACE_ID + "-" + SPAN_ID + "-00", null);
+
+        assertThat(context).isNotNull();
+        assertThat(context.isSampled()).isFalse();
+        assertThat(context.traceState()).isNull();
+    }
+
+    @Test
+    void encodesWhatItParses() {
+        TraceContext context = TraceContextCodec.parse(TRACEPARENT, null);
+
+        assertThat(TraceContextCodec.encode(context)).isEqualTo(TRACEPARENT);
+        assertThat(TraceContextCodec.encode(context.withSpanId(0xabcL))).isEqualTo("00-" + TRACE_ID + "-0000000000000abc-01");
+    }
+
+    @Test
+    void rejectsMalformedTraceparent() {
+        assertThat(TraceContextCodec.parse(null, null)).isNull();
+        assertThat(TraceContextCodec.parse("", null)).isNull();
+        assertThat(TraceContextCodec.parse(TRACEPARENT.substring(1), null)).isNull();
+        assertThat(TraceContextCodec.parse(TRACEPARENT.replace('-', '_'), null)).isNull();
+        assertThat(TraceContextCodec.parse("00-" + TRACE_ID + "-" + SPAN_ID + "-0g", null)).isNull();
+        assertThat(TraceContextCodec.parse("00-" + TRACE_ID.replace('f', 'x') + "-" + SPAN_ID + "-01", null)).isNull();
+        assertThat(TraceContextCodec.parse("00-" + TRACE_ID + SPAN_ID + "--01", null)).isNull();
+    }
+
+    @Test
+    void rejectsUpperCaseHex() {
+        assertThat(TraceContextCodec.parse("00-" + TRACE_ID.toUpperCase() + "-" + SPAN_ID + "-01", null)).isNull();
+        assertThat(TraceContextCodec.parse("00-" + TRACE_ID + "-" + SPAN_ID.toUpperCase() + "-01", null)).isNull();
+    }
+
+    @Test
+    void rejectsAllZeroIds() {
+        assertThat(TraceContextCodec.parse("00-" + "0".repeat(32) + "-" + SPAN_ID + "-01", null)).isNull();
+        assertThat(TraceContextCodec.parse("00-" + TRACE_ID + "-" + "0".repeat(16) + "-01", null)).isNull();
+    }
+
+    @Test
+    void acceptsFutureVersionsWithAdditionalFields() {
+        TraceContext context = TraceContextCodec.parse("01-" + TRACE_ID + "-" + SPAN_ID + "-01-what-comes-next", null);
+
+        assertThat(context).isNotNull();
+        assertThat(context.traceIdHex()).isEqualTo(TRACE_ID);
+        // Written back as the version this codec knows
+        assertThat(TraceContextCodec.encode(context)).isEqualTo(TRACEPARENT);
+    }
+
+    @Test
+    void rejectsInvalidVersions() {
+        assertThat(TraceContextCodec.parse("ff-" + TRACE_ID + "-" + SPAN_ID + "-01", null)).isNull();
+        // Version 00 has exactly four fields
+        assertThat(TraceContextCodec.parse(TRACEPARENT + "-extra", null)).isNull();
+        // Fields of future versions are separated by a dash
+        assertThat(TraceContextCodec.parse("01-" + TRACE_ID + "-" + SPAN_ID + "-01extra", null)).isNull();
+    }
+
+    @Test
+    void keepsTraceStateWithinLimits() {
+        assertThat(TraceContextCodec.normalizeTraceState("rojo=00f067aa0ba902b7,congo=t61rcWkgMzE"))
+            .isEqualTo("rojo=00f067aa0ba902b7,congo=t61rcWkgMzE");
+        // Empty members are allowed
+        assertThat(TraceContextCodec.normalizeTraceState("rojo=1, ,congo=2")).isEqualTo("rojo=1, ,congo=2");
+        assertThat(TraceContextCodec.normalizeTraceState(members(32))).isEqualTo(members(32));
+        String longest = "a=" + "x".repeat(510);
+        assertThat(TraceContextCodec.normalizeTraceState(longest)).isEqualTo(longest);
+    }
+
+    @Test
+    void dropsTraceStateBeyondLimits() {
+        assertThat(TraceContextCodec.normalizeTraceState(null)).isNull();
+        assertThat(TraceContextCodec.normalizeTraceState("")).isNull();
+        assertThat(TraceContextCodec.normalizeTraceState(" , ")).isNull();
+        assertThat(TraceContextCodec.normalizeTraceState(members(33))).isNull();
+        assertThat(TraceContextCodec.normalizeTraceState("a=" + "x".repeat(511))).isNull();
+        assertThat(TraceContextCodec.normalizeTraceState("rojo=1,congo")).isNull();
+        assertThat(TraceContextCodec.normalizeTraceState("rojo=1\ncongo=2")).isNull();
+        assertThat(TraceContextCodec.normalizeTraceState("rojo=café")).isNull();
+    }
+
+    @Test
+    void buildsTraceparentFromTracerIds() {
+        assertThat(TraceContextCodec.traceparent(TRACE_ID, SPAN_ID, true)).isEqualTo(TRACEPARENT);
+        assertThat(TraceContextCodec.traceparent(TRACE_ID.toUpperCase(), SPAN_ID, false))
+            .isEqualTo("00-" + TRACE_ID + "-" + SPAN_ID + "-00");
+        // 64-bit trace IDs are padded on the right
+        assertThat(TraceContextCodec.traceparent("a3ce929d0e0e4736", SPAN_ID, true))
+            .isEqualTo("00-a3ce929d0e0e4736" + "0".repeat(16) + "-" + SPAN_ID + "-01");
+    }
+
+    @Test
+    void validatesTraceIds() {
+        assertThat(TraceContextCodec.isValidTraceId(TRACE_ID)).isTrue();
+        assertThat(TraceContextCodec.isValidTraceId(TraceIdGenerator.traceId())).isTrue();
+        assertThat(TraceContextCodec.isValidTraceId(null)).isFalse();
+        assertThat(TraceContextCodec.isValidTraceId(TRACE_ID.toUpperCase())).isFalse();
+        assertThat(TraceContextCodec.isValidTraceId("0".repeat(32))).isFalse();
+        assertThat(TraceContextCodec.isValidTraceId(TRACE_ID.substring(1))).isFalse();
+    }
+
+    private static String members(int count) {
+        StringJoiner joiner = new StringJoiner(",");
+        for (int i = 0; i < count; i++) {
+            joiner.add("v" + i + "=" + i);
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package com.boilerplate.app.config;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TracePropagationInterceptor} as configured in {@link GatewayConfig}, with a span in scope
+ * as during a traced request. The downstream execution returns a canned response.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TracePropagationInterceptorBenchmark {
+    private static final byte[] BODY = new byte[0];
+
+    private SdkTracerProvider tracerProvider;
+    private Span span;
+    private Tracer.SpanInScope scope;
+    private TracePropagationInterceptor interceptor;
+    private ClientHttpRequestExecution execution;
+
+    @Setup
+    public void setUp() {
+        tracerProvider = SdkTracerProvider.builder().build();
+        Tracer tracer = new OtelTracer(tracerProvider.get("benchmark"), new OtelCurrentTraceContext(), event -> { });
+        span = tracer.nextSpan().name("gateway-request").start();
+        scope = tracer.withSpan(span);
+        interceptor = new TracePropagationInterceptor(tracer);
+        ClientHttpResponse response = new MockClientHttpResponse(BODY, HttpStatus.OK);
+        execution = (request, body) -> response;
+    }
+
+    @TearDown
+    public void tearDown() {
+        scope.close();
+        span.end();
+        tracerProvider.close();
+    }
+
+    @Benchmark
+    public ClientHttpResponse intercept() throws IOException {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://service-account/api/accounts/balance"));
+        return interceptor.intercept(request, BODY, execution);
+    }
+}
@@ -0,0 +1,135 @@
+package com.boilerplate.app.controller;
+
+import com.boilerplate.app.GatewayApplication;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * A routed request through the gateway's filter chain (including {@link com.boilerplate.app.filter.AuthenticationFilter}
+ * with local token verification) and {@link GatewayController} to a stub backend on localhost.
+ * The inbound side runs through MockMvc so the numbers show the gateway's own overhead plus one
+ * pooled HTTP call, without a client and Tomcat connector in the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class GatewayRequestBenchmark {
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+    private static final byte[] BACKEND_BODY = "{\"accountNumber\":\"1234567890\",\"balance\":1520000.00,\"currency\":\"IDR\"}"
+        .getBytes(StandardCharsets.UTF_8);
+    private static final String TRANSFER_BODY = "{\"sourceAccount\":\"1234567890\",\"destinationAccount\":\"0987654321\",\"amount\":250000}";
+
+    private HttpServer backend;
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String authorization;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Without TCP_NODELAY the JDK server's split writes add a delayed-ACK stall of ~40ms per call
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        backend = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        backend.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        backend.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, BACKEND_BODY.length);
+            exchange.getResponseBody().write(BACKEND_BODY);
+            exchange.close();
+        });
+        backend.start();
+        String backendUri = "http://127.0.0.1:" + backend.getAddress().getPort();
+
+        // As command line arguments so they take precedence over application.yml
+        context = new SpringApplicationBuilder(GatewayApplication.class)
+            .run(
+                "--server.port=0",
+                "--spring.config.import=",
+                "--spring.cloud.config.enabled=false",
+                "--eureka.client.enabled=false",
+                "--logging.level.root=WARN",
+                "--management.tracing.sampling.probability=0",
+                "--management.otlp.tracing.export.enabled=false",
+                "--spring.cloud.discovery.client.simple.instances.service-account[0].uri=" + backendUri,
+                "--spring.cloud.discovery.client.simple.instances.service-payment[0].uri=" + backendUri,
+                "--spring.cloud.discovery.client.simple.instances.service-authentication[0].uri=" + backendUri,
+                "--gateway.oauth2.local-verification.enabled=true",
+                "--gateway.oauth2.local-verification.secret=" + SECRET,
+                "--gateway.oauth2.local-verification.revocation-check=false",
+                "--gateway.rate-limit.enabled=false",
+                "--gateway.load-shedding.enabled=false"
+            );
+
+        Filter[] filters = context.getBeanProvider(Filter.class).orderedStream().toArray(Filter[]::new);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).addFilters(filters).build();
+
+        String token = Jwts.builder()
+            .subject("benchmark-client")
+            .claim("partnerId", 1)
+            .claim("X-INTERNAL-PARTNER-ID", "BENCH")
+            .expiration(Date.from(Instant.now().plus(1, ChronoUnit.DAYS)))
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+        authorization = "Bearer " + token;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        backend.stop(0);
+    }
+
+    @Benchmark
+    public MvcResult getBalance() throws Exception {
+        return mockMvc.perform(get("/api/accounts/balance")
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .accept(MediaType.APPLICATION_JSON))
+            .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult postTransfer() throws Exception {
+        return mockMvc.perform(post("/api/payments/transfer")
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TRANSFER_BODY))
+            .andReturn();
+    }
+}
@@ -0,0 +1,47 @@
+package com.boilerplate.app.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts backend requests in flight as gateway.http.client.requests.active, tagged with the
+ * client type. With the jdk client these are the open HTTP/2 streams, which the client itself
+ * does not report; with apache they match the leased pool connections.
+ */
+@Component
+public class ActiveRequestsInterceptor implements ClientHttpRequestInterceptor {
+    private final AtomicInteger active = new AtomicInteger();
+
+    public ActiveRequestsInterceptor(
+        MeterRegistry meterRegistry,
+        @Value("${gateway.http-client.type:apache}") String clientType
+    ) {
+        Gauge.builder("gateway.http.client.requests.active", active, AtomicInteger::get)
+            .tag("client", clientType)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+        HttpRequest request,
+        byte[] body,
+        ClientHttpRequestExecution execution
+    ) throws IOException {
+        active.incrementAndGet();
+        try {
+            // Counts until the response headers arrive; the body is read right after by the caller
+            return execution.execute(request, body);
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+}
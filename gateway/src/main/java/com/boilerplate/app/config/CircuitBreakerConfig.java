@@ -1,19 +0,0 @@
-package com.boilerplate.app.config;
-
-import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
-import lombok.RequiredArgsConstructor;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-@RequiredArgsConstructor
-public class CircuitBreakerConfig {
-
-    private final CircuitBreakerRegistry circuitBreakerRegistry;
-
-    @Bean
-    public CircuitBreaker serviceCircuitBreaker() {
-        return circuitBreakerRegistry.circuitBreaker("serviceCircuitBreaker");
-    }
-}
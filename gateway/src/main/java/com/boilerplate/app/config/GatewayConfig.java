@@ -1,11 +1,9 @@
 package com.boilerplate.app.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
 import io.micrometer.tracing.Tracer;
-import io.opentelemetry.api.GlobalOpenTelemetry;
-import io.opentelemetry.api.trace.Span;
-import io.opentelemetry.context.Context;
-import io.opentelemetry.context.propagation.TextMapSetter;
-import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
@@ -16,20 +14,20 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpRequest;
-import org.springframework.http.client.ClientHttpRequestExecution;
-import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.converter.FormHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
-import java.io.IOException;
+import java.net.http.HttpClient;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -50,134 +48,91 @@ public class GatewayConfig {
     @Value("${gateway.http-client.read-timeout:30000}")
     private int readTimeout;
 
+    @Value("${gateway.http-client.connection-request-timeout:5000}")
+    private int connectionRequestTimeout;
+
+    @Value("${gateway.http-client.type:apache}")
+    private String clientType;
+
     @Autowired(required = false)
     private Tracer tracer;
+
+    @Autowired
+    private ActiveRequestsInterceptor activeRequestsInterceptor;
     
     @Bean
+    @Primary
     @LoadBalanced
-    public RestTemplate restTemplate() {
-        RestTemplate restTemplate = new RestTemplate(clientHttpRequestFactory());
+    public RestTemplate restTemplate(ClientHttpRequestFactory clientHttpRequestFactory) {
+        return createRestTemplate(clientHttpRequestFactory);
+    }
+
+    /**
+     * RestTemplate without load balancing, for calls to an instance that was chosen explicitly
+     * (e.g. a hedge that must go to a different instance than the first attempt).
+     */
+    @Bean
+    public RestTemplate instanceRestTemplate(ClientHttpRequestFactory clientHttpRequestFactory) {
+        return createRestTemplate(clientHttpRequestFactory);
+    }
+
+    private RestTemplate createRestTemplate(ClientHttpRequestFactory clientHttpRequestFactory) {
+        RestTemplate restTemplate = new RestTemplate(clientHttpRequestFactory);
         restTemplate.setMessageConverters(List.of(
             new StringHttpMessageConverter(StandardCharsets.UTF_8),
             new FormHttpMessageConverter(),
             new MappingJackson2HttpMessageConverter()
         ));
-        restTemplate.getInterceptors().add(new TracePropagationInterceptor(tracer));
+        restTemplate.getInterceptors().add(tracePropagationInterceptor());
+        restTemplate.getInterceptors().add(activeRequestsInterceptor);
         return restTemplate;
     }
-    
-    @Slf4j
-    private static class TracePropagationInterceptor implements ClientHttpRequestInterceptor {
-        private final Tracer tracer;
-        
-        public TracePropagationInterceptor(Tracer tracer) {
-            this.tracer = tracer;
-        }
-        private static final TextMapSetter<HttpRequest> SETTER = (carrier, key, value) -> {
-            if (carrier != null) {
-                carrier.getHeaders().add(key, value);
-                log.debug("Injected trace header: {} = {}", key, value);
-            }
-        };
-        
-        @Override
-        public ClientHttpResponse intercept(
-            HttpRequest request,
-            byte[] body,
-            ClientHttpRequestExecution execution
-        ) throws IOException {
-            try {
-                if (tracer != null && tracer.currentSpan() != null) {
-                    io.micrometer.tracing.Span micrometerSpan = tracer.currentSpan();
-                    if (micrometerSpan.context() != null) {
-                        String traceId = micrometerSpan.context().traceId();
-                        String spanId = micrometerSpan.context().spanId();
-                        
-                        if (traceId != null && spanId != null && !traceId.isEmpty() && !spanId.isEmpty()) {
-                            String normalizedTraceId = normalizeHex(traceId, 32);
-                            String normalizedSpanId = normalizeHex(spanId, 16);
-                            String traceparent = String.format("00-%s-%s-01", normalizedTraceId, normalizedSpanId);
-                            request.getHeaders().set("traceparent", traceparent);
-                            log.debug("Trace context injected via Micrometer: traceparent={}, traceId={}, spanId={} for request to: {}", 
-                                traceparent, traceId, spanId, request.getURI());
-                            return execution.execute(request, body);
-                        } else {
-                            log.debug("Micrometer span context has null/empty traceId or spanId: traceId={}, spanId={}", traceId, spanId);
-                        }
-                    } else {
-                        log.debug("Micrometer span context is null");
-                    }
-                } else {
-                    log.debug("Micrometer Tracer is null or no current span");
-                }
-                
-                io.opentelemetry.api.OpenTelemetry openTelemetry = GlobalOpenTelemetry.get();
-                if (openTelemetry != null) {
-                    io.opentelemetry.context.propagation.ContextPropagators propagators = 
-                        openTelemetry.getPropagators();
-                    
-                    if (propagators != null && propagators.getTextMapPropagator() != null) {
-                        Span currentSpan = Span.current();
-                        Context contextToInject = Context.current();
-                        
-                        if (currentSpan != null && currentSpan.getSpanContext().isValid()) {
-                            contextToInject = contextToInject.with(currentSpan);
-                            log.debug("Using OpenTelemetry span: traceId={}, spanId={}", 
-                                currentSpan.getSpanContext().getTraceId(), 
-                                currentSpan.getSpanContext().getSpanId());
-                        } else {
-                            log.debug("No valid OpenTelemetry span found");
-                        }
-                        
-                        propagators.getTextMapPropagator().inject(
-                            contextToInject,
-                            request,
-                            SETTER
-                        );
-                        
-                        String traceparent = request.getHeaders().getFirst("traceparent");
-                        if (traceparent != null) {
-                            log.debug("Trace context injected via OpenTelemetry: traceparent={} for request to: {}", 
-                                traceparent, request.getURI());
-                        } else {
-                            log.warn("Trace context injection failed: traceparent header not found after injection. OpenTelemetry span valid: {}", 
-                                currentSpan != null && currentSpan.getSpanContext().isValid());
-                        }
-                    } else {
-                        log.warn("TextMapPropagator is null, cannot inject trace context");
-                    }
-                } else {
-                    log.warn("OpenTelemetry is null, cannot inject trace context");
-                }
-            } catch (Exception e) {
-                log.error("Failed to inject trace context: {}", e.getMessage(), e);
-            }
-            return execution.execute(request, body);
-        }
-        
-        private String normalizeHex(String hex, int length) {
-            if (hex == null) {
-                return "0".repeat(length);
-            }
-            hex = hex.replaceAll("[^0-9a-fA-F]", "").toLowerCase();
-            if (hex.length() == length) {
-                return hex;
-            } else if (hex.length() > length) {
-                return hex.substring(0, length);
-            } else {
-                return String.format("%-" + length + "s", hex).replace(' ', '0');
-            }
-        }
+
+    @Bean
+    public TracePropagationInterceptor tracePropagationInterceptor() {
+        return new TracePropagationInterceptor(tracer);
     }
 
+    /**
+     * Backend HTTP client, selected by gateway.http-client.type:
+     * apache (default) keeps a pool of HTTP/1.1 connections per backend instance,
+     * jdk uses java.net.http.HttpClient, which multiplexes requests to an instance over one
+     * HTTP/2 connection when the backend supports it (h2c upgrade) and falls back to HTTP/1.1 otherwise.
+     */
     @Bean
-    public ClientHttpRequestFactory clientHttpRequestFactory() {
+    public ClientHttpRequestFactory clientHttpRequestFactory(MeterRegistry meterRegistry) {
+        if ("jdk".equalsIgnoreCase(clientType)) {
+            return jdkClientHttpRequestFactory();
+        }
+        return apacheClientHttpRequestFactory(meterRegistry);
+    }
+
+    private ClientHttpRequestFactory jdkClientHttpRequestFactory() {
+        HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(connectTimeout))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(readTimeout));
+        return factory;
+    }
+
+    private ClientHttpRequestFactory apacheClientHttpRequestFactory(MeterRegistry meterRegistry) {
         PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
         connectionManager.setMaxTotal(maxTotalConnections);
         connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.of(connectTimeout, TimeUnit.MILLISECONDS))
+            .build());
+        // httpcomponents.httpclient.pool.* gauges: leased, available and pending connections
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "gateway").bindTo(meterRegistry);
 
+        // With virtual threads the pool, not the thread count, bounds concurrent backend calls;
+        // callers wait at most connection-request-timeout for a free connection
         RequestConfig requestConfig = RequestConfig.custom()
-            .setConnectionRequestTimeout(Timeout.of(connectTimeout, TimeUnit.MILLISECONDS))
+            .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout, TimeUnit.MILLISECONDS))
             .setResponseTimeout(Timeout.of(readTimeout, TimeUnit.MILLISECONDS))
             .build();
 
@@ -3,9 +3,15 @@ package com.boilerplate.app.config;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Simplified gateway configuration.
@@ -17,6 +23,15 @@ import java.util.List;
 public class GatewayRouteConfig {
     
     private OAuth2 oauth2 = new OAuth2();
+    private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+    private Budget hedgeBudget = new Budget();
+    private Budget retryBudget = new Budget();
+    private ResponseCache responseCache = new ResponseCache();
+    private StaleResponses staleResponses = new StaleResponses();
+    private Compression compression = new Compression();
+    private LoadBalancer loadBalancer = new LoadBalancer();
+    private RateLimit rateLimit = new RateLimit();
+    private LoadShedding loadShedding = new LoadShedding();
     private List<Route> routes = new ArrayList<>();
     private List<String> publicPaths = new ArrayList<>();
 
@@ -24,6 +39,397 @@ public class GatewayRouteConfig {
     @Setter
     public static class OAuth2 {
         private String validationEndpoint;
+        private LocalVerification localVerification = new LocalVerification();
+        private ValidationCache cache = new ValidationCache();
+    }
+
+    @Getter
+    @Setter
+    public static class LocalVerification {
+        /**
+         * Verify JWT signature and expiry in the gateway instead of calling the validation endpoint
+         */
+        private boolean enabled = false;
+
+        /**
+         * HMAC secret shared with service-authentication (jwt.secret)
+         */
+        private String secret;
+
+        /**
+         * Whether locally verified tokens are still checked for revocation via the validation endpoint
+         */
+        private boolean revocationCheck = true;
+    }
+
+    @Getter
+    @Setter
+    public static class ValidationCache {
+        /**
+         * Whether token validation results are cached in the gateway
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of cached validation results
+         */
+        private long maximumSize = 10000;
+
+        /**
+         * Upper bound on how long a valid result is reused; bounds revocation latency
+         */
+        private Duration maxStaleness = Duration.ofSeconds(30);
+
+        /**
+         * How long an invalid result is reused
+         */
+        private Duration negativeTtl = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class ConcurrencyLimit {
+        /**
+         * Whether in-flight requests per backend service are capped by an adaptive limit
+         */
+        private boolean enabled = true;
+
+        /**
+         * Limit used until enough latency samples have been collected
+         */
+        private int initialLimit = 50;
+
+        /**
+         * Lower bound of the limit
+         */
+        private int minLimit = 10;
+
+        /**
+         * Upper bound of the limit; keep at or below the service's bulkhead maxConcurrentCalls, which
+         * rejects whatever the limit admits above it before the latency is ever sampled, and at or
+         * below http-client.max-connections-per-route
+         */
+        private int maxLimit = 100;
+
+        /**
+         * How far recent latency may exceed the long-term average before the limit is reduced
+         */
+        private double rttTolerance = 1.5;
+
+        /**
+         * Weight of each new limit estimate (0..1)
+         */
+        private double smoothing = 0.2;
+
+        /**
+         * Minimum duration of a sampling window
+         */
+        private Duration window = Duration.ofSeconds(1);
+
+        /**
+         * Minimum number of samples in a window before the limit is recomputed
+         */
+        private int minWindowSamples = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class LoadBalancer {
+        /**
+         * Whether backend instances are picked by power of two choices on peak-EWMA latency
+         * and in-flight requests instead of round robin
+         */
+        private boolean enabled = true;
+
+        /**
+         * Time constant of the latency average; a latency spike fades to a third after this long
+         */
+        private Duration decayTime = Duration.ofSeconds(10);
+
+        /**
+         * Latency recorded for a failed call (connection error or 5xx), so an instance that fails fast does not look fast
+         */
+        private Duration failurePenalty = Duration.ofSeconds(1);
+
+        /**
+         * Temporary removal of failing instances from the pool, whichever load balancer is used
+         */
+        private OutlierDetection outlierDetection = new OutlierDetection();
+    }
+
+    @Getter
+    @Setter
+    public static class OutlierDetection {
+        /**
+         * Whether instances with failing calls (connection error or 5xx) are ejected from the pool
+         */
+        private boolean enabled = true;
+
+        /**
+         * Failed calls in a row that eject an instance
+         */
+        private int consecutiveFailures = 5;
+
+        /**
+         * Share of failed calls within one interval that ejects an instance
+         */
+        private double failureRateThreshold = 0.5;
+
+        /**
+         * Calls an instance needs within one interval before its failure rate is judged
+         */
+        private int minimumCalls = 20;
+
+        /**
+         * Length of the window the failure rate is counted over
+         */
+        private Duration interval = Duration.ofSeconds(10);
+
+        /**
+         * How long an instance is ejected the first time; repeated ejections last proportionally longer
+         */
+        private Duration baseEjectionTime = Duration.ofSeconds(30);
+
+        /**
+         * Upper bound on how long an instance is ejected
+         */
+        private Duration maxEjectionTime = Duration.ofMinutes(5);
+
+        /**
+         * Largest share of a service's instances that may be ejected at the same time, in percent
+         */
+        private int maxEjectionPercent = 50;
+    }
+
+    @Getter
+    @Setter
+    public static class Budget {
+        /**
+         * Extra requests allowed per routed request (0.1 = at most 10% additional load)
+         */
+        private double ratio = 0.1;
+
+        /**
+         * Extra requests that may be spent before any traffic has been seen, and the cap on saved-up credit
+         */
+        private int reserve = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Hedge {
+        /**
+         * Whether a second request is sent to another instance when the first one is slow (GET only)
+         */
+        private boolean enabled = false;
+
+        /**
+         * Latency percentile of this route after which the hedge request is sent
+         */
+        private double percentile = 0.95;
+
+        /**
+         * Lower bound of the hedge delay
+         */
+        private Duration minDelay = Duration.ofMillis(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Retry {
+        /**
+         * Whether idempotent requests that fail to connect are retried on another instance
+         */
+        private boolean enabled = false;
+
+        /**
+         * Total attempts including the first one
+         */
+        private int maxAttempts = 2;
+
+        /**
+         * Backoff before the first retry; doubles per retry, randomized between zero and the current value
+         */
+        private Duration initialBackoff = Duration.ofMillis(50);
+
+        /**
+         * Upper bound of the backoff
+         */
+        private Duration maxBackoff = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class ResponseCache {
+        /**
+         * Whether GET responses of routes with cache.enabled are cached in the gateway
+         */
+        private boolean enabled = true;
+
+        /**
+         * Upper bound on the total size of cached response bodies and headers
+         */
+        private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Upper bound on how long a response is cached, whatever its Cache-Control allows
+         */
+        private Duration maxTtl = Duration.ofMinutes(10);
+
+        /**
+         * How long an expired response with an ETag is kept to be revalidated with If-None-Match
+         * instead of fetched again
+         */
+        private Duration staleRetention = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class StaleResponses {
+        /**
+         * Upper bound on the total size of last good responses kept for routes with stale-fallback.enabled
+         */
+        private DataSize maximumSize = DataSize.ofMegabytes(32);
+
+        /**
+         * How long a last good response may still be served while its backend is unavailable
+         */
+        private Duration maxStaleness = Duration.ofHours(1);
+
+        /**
+         * Age after which a response being served stale is fetched again in the background
+         */
+        private Duration refreshInterval = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Compression {
+        /**
+         * Whether JSON responses are gzip or deflate encoded for clients that accept it
+         */
+        private boolean enabled = true;
+
+        /**
+         * Responses smaller than this are sent as is; compressing them costs more than it saves
+         */
+        private DataSize minResponseSize = DataSize.ofKilobytes(1);
+
+        /**
+         * Deflate level, 1 (fastest) to 9 (smallest)
+         */
+        private int level = 6;
+
+        /**
+         * Number of idle Deflaters kept for reuse
+         */
+        private int poolSize = 64;
+    }
+
+    @Getter
+    @Setter
+    public static class RateLimit {
+        /**
+         * Whether authenticated requests are rate limited per partner
+         */
+        private boolean enabled = true;
+
+        /**
+         * Limit for partners without an entry in partners
+         */
+        private PartnerLimit defaultLimit = new PartnerLimit();
+
+        /**
+         * Limits by partner code (X-INTERNAL-PARTNER-ID claim, or partnerId for tokens without one)
+         */
+        private Map<String, PartnerLimit> partners = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class PartnerLimit {
+        /**
+         * Sustained request rate; 0 disables the limit
+         */
+        private double requestsPerSecond = 100;
+
+        /**
+         * Number of requests that may arrive at once on top of the sustained rate
+         */
+        private int burst = 200;
+    }
+
+    /**
+     * Order in which routes are shed under overload, lowest first
+     */
+    public enum Priority {
+        LOW, NORMAL, HIGH, CRITICAL
+    }
+
+    @Getter
+    @Setter
+    public static class LoadShedding {
+        /**
+         * Whether routed requests are shed by priority when the gateway is saturated
+         */
+        private boolean enabled = true;
+
+        /**
+         * Routed requests the gateway works on at once, across all routes
+         */
+        private int maxConcurrentRequests = 500;
+
+        /**
+         * Share of max-concurrent-requests up to which requests of each priority are admitted
+         */
+        private Map<Priority, Double> admitUntil = new EnumMap<>(Map.of(
+            Priority.LOW, 0.5,
+            Priority.NORMAL, 0.75,
+            Priority.HIGH, 0.9,
+            Priority.CRITICAL, 1.0
+        ));
+
+        /**
+         * How long a request may wait (including time in front of the gateway per X-Request-Start)
+         * before it is dropped instead of forwarded, for routes without their own queue-timeout
+         */
+        private Duration queueTimeout = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        /**
+         * Whether successful GET responses of this route are cached in the gateway.
+         * Only enable for responses that are the same for every caller sending the same vary-headers.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Request headers that are part of the cache key in addition to path and query
+         */
+        private List<String> varyHeaders = new ArrayList<>();
+
+        /**
+         * How long responses without Cache-Control max-age are cached; zero caches only responses that have one
+         */
+        private Duration defaultTtl = Duration.ZERO;
+    }
+
+    @Getter
+    @Setter
+    public static class StaleFallback {
+        /**
+         * Whether the last good GET response of this route is served, with Age and Warning headers,
+         * while the circuit breaker of its service is open or the service cannot be reached
+         */
+        private boolean enabled = false;
+
+        /**
+         * Request headers the kept responses are keyed by in addition to path and query.
+         * Keep Authorization for responses that differ per caller.
+         */
+        private List<String> varyHeaders = new ArrayList<>(List.of(HttpHeaders.AUTHORIZATION));
     }
 
     @Getter
@@ -43,5 +449,47 @@ public class GatewayRouteConfig {
          * Whether token validation is required for this route
          */
         private boolean requiresAuth = true;
+
+        /**
+         * Whether request and response bodies are piped to and from the backend
+         * without buffering (for large uploads and downloads)
+         */
+        private boolean streaming = false;
+
+        /**
+         * Hedged requests for this route, counted against gateway.hedge-budget
+         */
+        private Hedge hedge = new Hedge();
+
+        /**
+         * Retries on another instance for this route, counted against gateway.retry-budget
+         */
+        private Retry retry = new Retry();
+
+        /**
+         * Response caching for this route, bounded by gateway.response-cache
+         */
+        private Cache cache = new Cache();
+
+        /**
+         * Serving the last good response while the service is down, bounded by gateway.stale-responses
+         */
+        private StaleFallback staleFallback = new StaleFallback();
+
+        /**
+         * Shedding priority under overload, see gateway.load-shedding
+         */
+        private Priority priority = Priority.NORMAL;
+
+        /**
+         * Overrides gateway.load-shedding.queue-timeout for this route
+         */
+        private Duration queueTimeout;
+
+        /**
+         * Time the client is given for this route, counted from arrival; what is left of it is sent
+         * to the backend as X-Request-Timeout-Ms. Defaults to gateway.http-client.read-timeout
+         */
+        private Duration timeout;
     }
 }
@@ -0,0 +1,63 @@
+package com.boilerplate.app.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * WebClient on Reactor Netty with LoadBalancer support, used when gateway.engine=reactive.
+ * Shares the gateway.http-client pool and timeout settings with the RestTemplate engine.
+ */
+@Configuration
+@ConditionalOnProperty(name = "gateway.engine", havingValue = "reactive")
+public class ReactiveGatewayConfig {
+    @Value("${gateway.http-client.max-total-connections:200}")
+    private int maxTotalConnections;
+
+    @Value("${gateway.http-client.connect-timeout:5000}")
+    private int connectTimeout;
+
+    @Value("${gateway.http-client.read-timeout:30000}")
+    private int readTimeout;
+
+    @Bean
+    public ConnectionProvider gatewayConnectionProvider() {
+        return ConnectionProvider.builder("gateway")
+            .maxConnections(maxTotalConnections)
+            .pendingAcquireTimeout(Duration.ofMillis(connectTimeout))
+            .maxIdleTime(Duration.ofSeconds(30))
+            .metrics(true)
+            .build();
+    }
+
+    /**
+     * Boot's customizers are applied so outbound requests get the same observation
+     * and trace propagation as other WebClients.
+     */
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder(
+        ConnectionProvider gatewayConnectionProvider,
+        ObjectProvider<WebClientCustomizer> customizers
+    ) {
+        HttpClient httpClient = HttpClient.create(gatewayConnectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+            .responseTimeout(Duration.ofMillis(readTimeout));
+
+        WebClient.Builder builder = WebClient.builder()
+            .clientConnector(new ReactorClientHttpConnector(httpClient));
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder;
+    }
+}
@@ -0,0 +1,104 @@
+package com.boilerplate.app.config;
+
+import com.boilerplate.app.base.constant.TraceConstants;
+import com.boilerplate.app.base.model.TraceContext;
+import com.boilerplate.app.base.util.TraceContextCodec;
+import com.boilerplate.app.base.util.TraceIdGenerator;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Injects W3C trace context into outbound requests to backend services.
+ * The traceparent of the current Micrometer span is written with {@link TraceContextCodec}, carrying
+ * the span's sampling decision. Without one, the caller's forwarded traceparent is continued with a
+ * new span ID, and failing that the OpenTelemetry propagators of the current context are used.
+ * A tracestate forwarded from the client is passed on only if it is within the spec's limits.
+ */
+@Slf4j
+public class TracePropagationInterceptor implements ClientHttpRequestInterceptor {
+    private static final TextMapSetter<HttpRequest> SETTER = (carrier, key, value) -> {
+        if (carrier != null) {
+            carrier.getHeaders().set(key, value);
+        }
+    };
+
+    private final Tracer tracer;
+
+    public TracePropagationInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+        HttpRequest request,
+        byte[] body,
+        ClientHttpRequestExecution execution
+    ) throws IOException {
+        try {
+            inject(request);
+        } catch (RuntimeException e) {
+            log.error("Failed to inject trace context: {}", e.getMessage(), e);
+        }
+        return execution.execute(request, body);
+    }
+
+    private void inject(HttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        String traceState = TraceContextCodec.normalizeTraceState(headers.getFirst(TraceConstants.TRACESTATE_HEADER));
+
+        io.micrometer.tracing.Span micrometerSpan = tracer != null ? tracer.currentSpan() : null;
+        if (micrometerSpan != null && micrometerSpan.context() != null) {
+            io.micrometer.tracing.TraceContext context = micrometerSpan.context();
+            String traceId = context.traceId();
+            String spanId = context.spanId();
+            if (traceId != null && spanId != null && !traceId.isEmpty() && !spanId.isEmpty()) {
+                String traceparent = TraceContextCodec.traceparent(traceId, spanId, Boolean.TRUE.equals(context.sampled()));
+                headers.set(TraceConstants.TRACEPARENT_HEADER, traceparent);
+                setTraceState(headers, traceState);
+                if (log.isDebugEnabled()) {
+                    log.debug("Trace context injected via Micrometer: traceparent={} for request to: {}", traceparent, request.getURI());
+                }
+                return;
+            }
+        }
+
+        // No tracer span: continue the trace of the traceparent forwarded from the client
+        TraceContext forwarded = TraceContextCodec.parse(headers.getFirst(TraceConstants.TRACEPARENT_HEADER), traceState);
+        if (forwarded != null) {
+            headers.set(TraceConstants.TRACEPARENT_HEADER, TraceContextCodec.encode(forwarded.withSpanId(TraceIdGenerator.nextSpanId())));
+            setTraceState(headers, forwarded.traceState());
+            return;
+        }
+        // Malformed trace context from the client is not passed on
+        headers.remove(TraceConstants.TRACEPARENT_HEADER);
+        headers.remove(TraceConstants.TRACESTATE_HEADER);
+
+        TextMapPropagator propagator = GlobalOpenTelemetry.get().getPropagators().getTextMapPropagator();
+        Span currentSpan = Span.current();
+        if (currentSpan.getSpanContext().isValid()) {
+            propagator.inject(Context.current().with(currentSpan), request, SETTER);
+        } else {
+            log.debug("No current span, trace context not injected for request to: {}", request.getURI());
+        }
+    }
+
+    private static void setTraceState(HttpHeaders headers, String traceState) {
+        if (traceState != null) {
+            headers.set(TraceConstants.TRACESTATE_HEADER, traceState);
+        } else {
+            headers.remove(TraceConstants.TRACESTATE_HEADER);
+        }
+    }
+}
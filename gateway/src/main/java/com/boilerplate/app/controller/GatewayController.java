@@ -5,6 +5,7 @@ import com.boilerplate.app.service.GatewayService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
@@ -14,9 +15,11 @@ import org.springframework.web.bind.annotation.*;
 /**
  * Gateway controller that routes all requests to backend services.
  * Routes are configured via application.yml.
+ * Blocking engine, active unless gateway.engine=reactive.
  */
 @Slf4j
 @RestController
+@ConditionalOnProperty(name = "gateway.engine", havingValue = "servlet", matchIfMissing = true)
 @RequestMapping("/**")
 @RequiredArgsConstructor
 public class GatewayController {
@@ -30,7 +33,7 @@ public class GatewayController {
         HttpServletRequest request) {
         
         String requestPath = request.getRequestURI();
-        GatewayRouteConfig.Route route = gatewayService.findMatchingRoute(requestPath);
+        GatewayRouteConfig.Route route = gatewayService.resolveRoute(request);
         
         if (route == null) {
             log.warn("No route found for path: {}", requestPath);
@@ -43,7 +46,7 @@ public class GatewayController {
         Object requestBody = (body != null && !body.isEmpty()) ? body : null;
         
         return gatewayService.routeRequest(
-            route.getService(),
+            route,
             requestPath,
             httpMethod,
             headers,
@@ -0,0 +1,60 @@
+package com.boilerplate.app.controller;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import com.boilerplate.app.service.GatewayService;
+import com.boilerplate.app.service.ReactiveGatewayService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Gateway controller for gateway.engine=reactive.
+ * Same routing as {@link GatewayController}, but returns a Mono so the request is
+ * completed asynchronously and no servlet thread waits on the backend.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/**")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "gateway.engine", havingValue = "reactive")
+public class ReactiveGatewayController {
+    private final GatewayService gatewayService;
+    private final ReactiveGatewayService reactiveGatewayService;
+
+    @RequestMapping(method = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT,
+        RequestMethod.DELETE, RequestMethod.PATCH, RequestMethod.OPTIONS})
+    public Mono<ResponseEntity<String>> route(
+        @RequestHeader(required = false) HttpHeaders headers,
+        @RequestBody(required = false) String body,
+        HttpServletRequest request) {
+
+        String requestPath = request.getRequestURI();
+        GatewayRouteConfig.Route route = gatewayService.resolveRoute(request);
+
+        if (route == null) {
+            log.warn("No route found for path: {}", requestPath);
+            return Mono.just(ResponseEntity.status(404)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"error\":\"No route found for path: " + requestPath + "\"}"));
+        }
+
+        HttpMethod httpMethod = HttpMethod.valueOf(request.getMethod());
+        String requestBody = (body != null && !body.isEmpty()) ? body : null;
+
+        return reactiveGatewayService.routeRequest(
+            route,
+            requestPath,
+            httpMethod,
+            headers,
+            requestBody,
+            request
+        );
+    }
+}
@@ -1,8 +1,13 @@
 package com.boilerplate.app.filter;
 
+import com.boilerplate.app.base.constant.PartnerContextConstants;
+import com.boilerplate.app.base.model.PartnerContext;
 import com.boilerplate.app.config.GatewayRouteConfig;
+import com.boilerplate.app.model.TokenValidationResult;
 import com.boilerplate.app.service.GatewayService;
 import com.boilerplate.app.service.OAuth2TokenValidationService;
+import com.boilerplate.app.service.PartnerContextSigner;
+import com.boilerplate.app.service.PartnerRateLimiter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -11,6 +16,8 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
@@ -18,9 +25,13 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Authentication filter that validates tokens for routes requiring authentication.
+ * Authentication filter that validates tokens for routes requiring authentication
+ * and applies the calling partner's rate limit, see {@link PartnerRateLimiter}.
+ * The verified partner is forwarded to the backend as a signed X-Partner-Context header
+ * (see {@link PartnerContextSigner}), so services do not have to look at the token again.
  * Routes and public paths are configured via application.yml.
  */
 @Slf4j
@@ -28,8 +39,15 @@ import java.util.Map;
 @Order(2)
 @RequiredArgsConstructor
 public class AuthenticationFilter extends OncePerRequestFilter {
+    /** Request attribute holding the signed partner context to forward, see {@link GatewayService#copyHeaders} */
+    public static final String PARTNER_CONTEXT_ATTRIBUTE = AuthenticationFilter.class.getName() + ".partnerContext";
+    /** Request attribute holding the verified {@link PartnerContext}, expiring with the token, to sign again for later calls */
+    public static final String PARTNER_ATTRIBUTE = AuthenticationFilter.class.getName() + ".partner";
+
     private final GatewayService gatewayService;
     private final OAuth2TokenValidationService tokenValidationService;
+    private final PartnerRateLimiter partnerRateLimiter;
+    private final PartnerContextSigner partnerContextSigner;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
@@ -47,7 +65,7 @@ public class AuthenticationFilter extends OncePerRequestFilter {
         }
 
         // Check if route requires authentication
-        GatewayRouteConfig.Route route = gatewayService.findMatchingRoute(requestPath);
+        GatewayRouteConfig.Route route = gatewayService.resolveRoute(request);
         if (route == null || !route.isRequiresAuth()) {
             filterChain.doFilter(request, response);
             return;
@@ -61,14 +79,50 @@ public class AuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
-        if (!tokenValidationService.validate(token)) {
+        TokenValidationResult validation = tokenValidationService.validateToken(token);
+        if (!validation.valid()) {
             sendUnauthorizedResponse(response, "Invalid or expired token");
             return;
         }
 
+        long retryAfterNanos = partnerRateLimiter.tryAcquire(partnerOf(validation.claims()));
+        if (retryAfterNanos > 0) {
+            sendTooManyRequestsResponse(response, retryAfterNanos);
+            return;
+        }
+
+        PartnerContext partner = PartnerContext.fromClaims(validation.claims(), validation.expiresAt());
+        String signedPartnerContext = partnerContextSigner.sign(partner);
+        if (signedPartnerContext != null) {
+            request.setAttribute(PARTNER_CONTEXT_ATTRIBUTE, signedPartnerContext);
+            request.setAttribute(PARTNER_ATTRIBUTE, partner);
+        }
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Partner code set by TokenAuthenticationService, falling back to the partner's id
+     */
+    private String partnerOf(Map<String, Object> claims) {
+        Object partner = claims.get(PartnerContextConstants.INTERNAL_PARTNER_ID_CLAIM);
+        if (partner == null) {
+            partner = claims.get(PartnerContextConstants.PARTNER_ID_CLAIM);
+        }
+        return partner != null ? partner.toString() : null;
+    }
+
+    private void sendTooManyRequestsResponse(HttpServletResponse response, long retryAfterNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(objectMapper.writeValueAsString(Map.of(
+            "error", "Too Many Requests",
+            "message", "Rate limit exceeded, retry after " + retryAfterSeconds + "s",
+            "status", HttpStatus.TOO_MANY_REQUESTS.value()
+        )));
+    }
+
     private void sendUnauthorizedResponse(HttpServletResponse response, String message) throws IOException {
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
@@ -1,9 +1,12 @@
 package com.boilerplate.app.filter;
 
+import com.boilerplate.app.config.GatewayRouteConfig;
+import com.boilerplate.app.service.GatewayService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -14,7 +17,16 @@ import java.io.IOException;
 
 @Component
 @Order(1)
+@RequiredArgsConstructor
 public class CachedBodyFilter extends OncePerRequestFilter {
+    private final GatewayService gatewayService;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        // Streaming routes must not be copied into a heap buffer
+        GatewayRouteConfig.Route route = gatewayService.resolveRoute(request);
+        return route != null && route.isStreaming();
+    }
 
     @Override
     protected void doFilterInternal(
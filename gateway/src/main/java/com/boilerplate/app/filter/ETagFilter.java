@@ -0,0 +1,35 @@
+package com.boilerplate.app.filter;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import com.boilerplate.app.service.GatewayService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Answers conditional GET requests on routed paths.
+ * Responses that come without an ETag get a strong one from a hash of the body, and a request whose
+ * If-None-Match matches the response's ETag (from the backend, the gateway cache or the hash)
+ * gets a 304 without body. Saves bandwidth towards clients; backends that check ETags
+ * themselves also save the work of building the response.
+ * Streaming routes are skipped, the body would have to be buffered to hash it.
+ */
+@Component
+@Order(4)
+@ConditionalOnProperty(name = "gateway.etag.enabled", havingValue = "true", matchIfMissing = true)
+public class ETagFilter extends ShallowEtagHeaderFilter {
+    private final GatewayService gatewayService;
+
+    public ETagFilter(GatewayService gatewayService) {
+        this.gatewayService = gatewayService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        GatewayRouteConfig.Route route = gatewayService.resolveRoute(request);
+        return route == null || route.isStreaming();
+    }
+}
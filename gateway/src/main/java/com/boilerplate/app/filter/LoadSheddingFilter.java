@@ -0,0 +1,98 @@
+package com.boilerplate.app.filter;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import com.boilerplate.app.service.GatewayService;
+import com.boilerplate.app.service.LoadShedder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Admits routed requests through {@link LoadShedder} before any other gateway work is done
+ * for them (body buffering, token validation). Shed requests get a 503 with Retry-After.
+ * Requests that do not match a route, such as actuator health checks, are never shed.
+ */
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class LoadSheddingFilter extends OncePerRequestFilter {
+    private final GatewayService gatewayService;
+    private final LoadShedder loadShedder;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return gatewayService.resolveRoute(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        GatewayRouteConfig.Route route = gatewayService.resolveRoute(request);
+        LoadShedder.Admission admission = loadShedder.tryAdmit(route, request);
+        if (admission == null) {
+            sendServiceUnavailableResponse(response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (isAsyncStarted(request)) {
+                // The reactive engine completes the request later, keep it counted until then
+                request.getAsyncContext().addListener(new ReleasingListener(admission));
+            } else {
+                admission.release();
+            }
+        }
+    }
+
+    private void sendServiceUnavailableResponse(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(objectMapper.writeValueAsString(Map.of(
+            "error", "Service unavailable",
+            "message", "Gateway is overloaded, please retry",
+            "status", HttpServletResponse.SC_SERVICE_UNAVAILABLE
+        )));
+    }
+
+    private record ReleasingListener(LoadShedder.Admission admission) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            admission.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            admission.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            admission.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.boilerplate.app.filter;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import com.boilerplate.app.service.GatewayService;
+import com.boilerplate.app.service.ResponseCompressor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Compresses successful (2xx) JSON responses of routed requests with the encoding negotiated from Accept-Encoding.
+ * Responses below gateway.compression.min-response-size, responses the backend already encoded
+ * and streaming routes are passed through as is.
+ * Runs outside {@link ETagFilter} so the ETag describes the uncompressed body; it is sent
+ * as a weak ETag on compressed responses.
+ */
+@Component
+@Order(3)
+@ConditionalOnProperty(name = "gateway.compression.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+    private final GatewayService gatewayService;
+    private final ResponseCompressor compressor;
+    private final MeterRegistry meterRegistry;
+    private final long minResponseSize;
+
+    public ResponseCompressionFilter(
+        GatewayService gatewayService,
+        ResponseCompressor compressor,
+        GatewayRouteConfig gatewayRouteConfig,
+        MeterRegistry meterRegistry
+    ) {
+        this.gatewayService = gatewayService;
+        this.compressor = compressor;
+        this.meterRegistry = meterRegistry;
+        this.minResponseSize = gatewayRouteConfig.getCompression().getMinResponseSize().toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        GatewayRouteConfig.Route route = gatewayService.resolveRoute(request);
+        return route == null || route.isStreaming() || "HEAD".equals(request.getMethod());
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // The reactive engine completes the response in an async dispatch, compress it there
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        CompressibleResponseWrapper wrapper = WebUtils.getNativeResponse(response, CompressibleResponseWrapper.class);
+        if (wrapper == null) {
+            wrapper = new CompressibleResponseWrapper(response);
+            filterChain.doFilter(request, wrapper);
+        } else {
+            // Async dispatch: pass on the response as dispatched, inner filters look up their own wrappers in it
+            filterChain.doFilter(request, response);
+        }
+
+        if (!isAsyncStarted(request)) {
+            writeResponse(request, wrapper);
+        }
+    }
+
+    private void writeResponse(HttpServletRequest request, CompressibleResponseWrapper wrapper) throws IOException {
+        if (!isCompressible(wrapper)) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        HttpServletResponse rawResponse = (HttpServletResponse) wrapper.getResponse();
+        // Whether the body is compressed depends on Accept-Encoding, caches must know
+        rawResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String encoding = compressor.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding == null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] body = wrapper.getContentAsByteArray();
+        byte[] compressed = compressor.compress(body, encoding);
+        String eTag = rawResponse.getHeader(HttpHeaders.ETAG);
+        if (eTag != null && !eTag.startsWith("W/")) {
+            rawResponse.setHeader(HttpHeaders.ETAG, "W/" + eTag);
+        }
+        rawResponse.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        rawResponse.setContentLength(compressed.length);
+        rawResponse.getOutputStream().write(compressed);
+        meterRegistry.counter("gateway.compression.responses", "encoding", encoding).increment();
+    }
+
+    private boolean isCompressible(CompressibleResponseWrapper wrapper) {
+        int status = wrapper.getStatus();
+        if (status < 200 || status >= 300 || status == 204 || status == 206
+            || wrapper.getContentSize() < minResponseSize
+            || wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) != null
+            || wrapper.getContentType() == null) {
+            return false;
+        }
+        String cacheControl = wrapper.getHeader(HttpHeaders.CACHE_CONTROL);
+        if (cacheControl != null && cacheControl.contains("no-transform")) {
+            return false;
+        }
+        try {
+            MediaType contentType = MediaType.parseMediaType(wrapper.getContentType());
+            return MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                || (contentType.getSubtype().endsWith("+json"));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static class CompressibleResponseWrapper extends ContentCachingResponseWrapper {
+        CompressibleResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.boilerplate.app.filter;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import com.boilerplate.app.service.GatewayService;
+import com.boilerplate.app.service.StreamingProxyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Hands requests on streaming routes to {@link StreamingProxyService} before they reach
+ * GatewayController, whose @RequestBody would otherwise read the whole payload into memory.
+ * Runs after authentication.
+ */
+@Component
+@Order(10)
+@RequiredArgsConstructor
+public class StreamingProxyFilter extends OncePerRequestFilter {
+    private final GatewayService gatewayService;
+    private final StreamingProxyService streamingProxyService;
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        GatewayRouteConfig.Route route = gatewayService.resolveRoute(request);
+        if (route == null || !route.isStreaming()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        streamingProxyService.stream(route, request, response);
+    }
+}
@@ -0,0 +1,16 @@
+package com.boilerplate.app.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.Collection;
+
+/**
+ * Load balancer request context for picking an instance other than the given ones,
+ * e.g. for a hedge or a retry. Understood by {@link PeakEwmaLoadBalancer}.
+ */
+public record ExcludedInstances(Collection<ServiceInstance> instances) {
+    public boolean contains(ServiceInstance instance) {
+        String key = InstanceLoadStats.key(instance);
+        return instances.stream().anyMatch(excluded -> InstanceLoadStats.key(excluded).equals(key));
+    }
+}
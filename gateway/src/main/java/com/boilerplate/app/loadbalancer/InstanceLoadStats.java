@@ -0,0 +1,90 @@
+package com.boilerplate.app.loadbalancer;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-flight requests and peak-EWMA latency per backend instance (host:port).
+ *
+ * The latency average jumps to any sample above it and otherwise decays towards new samples
+ * with time constant decay-time, so a slow instance is avoided immediately and tried again
+ * gradually once it recovers. Idle instances decay towards zero and get probed again.
+ * Instances not used for a while are forgotten.
+ */
+@Component
+public class InstanceLoadStats {
+    /** Cost of an instance with requests in flight but no latency sample yet, so new instances are probed one request at a time */
+    private static final double PENALTY_NANOS = Duration.ofSeconds(10).toNanos();
+
+    private final double decayNanos;
+    private final long failurePenaltyNanos;
+    private final Cache<String, Stats> stats = Caffeine.newBuilder()
+        .expireAfterAccess(Duration.ofMinutes(10))
+        .build();
+
+    public InstanceLoadStats(GatewayRouteConfig gatewayRouteConfig) {
+        GatewayRouteConfig.LoadBalancer config = gatewayRouteConfig.getLoadBalancer();
+        this.decayNanos = config.getDecayTime().toNanos();
+        this.failurePenaltyNanos = config.getFailurePenalty().toNanos();
+    }
+
+    public void onStart(ServiceInstance instance) {
+        statsOf(instance).inFlight.incrementAndGet();
+    }
+
+    public void onComplete(ServiceInstance instance, long latencyNanos, boolean failed) {
+        Stats s = statsOf(instance);
+        s.inFlight.decrementAndGet();
+        s.observe(failed ? Math.max(latencyNanos, failurePenaltyNanos) : latencyNanos, System.nanoTime());
+    }
+
+    /**
+     * Expected wait for a new request: latency average times requests queued ahead of it.
+     */
+    public double cost(ServiceInstance instance) {
+        Stats s = statsOf(instance);
+        int inFlight = s.inFlight.get();
+        double latency = s.latency(System.nanoTime());
+        if (latency == 0 && inFlight > 0) {
+            return PENALTY_NANOS + inFlight;
+        }
+        return latency * (inFlight + 1);
+    }
+
+    static String key(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    private Stats statsOf(ServiceInstance instance) {
+        return stats.get(key(instance), k -> new Stats());
+    }
+
+    private final class Stats {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private double latency;
+        private long stamp = System.nanoTime();
+
+        private synchronized void observe(double sample, long now) {
+            long elapsed = Math.max(0, now - stamp);
+            stamp = now;
+            if (sample > latency) {
+                latency = sample;
+            } else {
+                double weight = Math.exp(-elapsed / decayNanos);
+                latency = latency * weight + sample * (1 - weight);
+            }
+        }
+
+        private synchronized double latency(long now) {
+            // Decay towards zero while idle
+            observe(0, now);
+            return latency;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.boilerplate.app.loadbalancer;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Uses {@link PeakEwmaLoadBalancer} for all services instead of Spring Cloud's round robin.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
@@ -0,0 +1,61 @@
+package com.boilerplate.app.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds {@link InstanceLoadStats} and {@link OutlierDetector} from every call made through the @LoadBalanced RestTemplate
+ * and WebClient (routing and token validation).
+ */
+@Component
+public class LoadStatsLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+    private final InstanceLoadStats loadStats;
+    private final OutlierDetector outlierDetector;
+
+    public LoadStatsLifecycle(InstanceLoadStats loadStats, OutlierDetector outlierDetector) {
+        this.loadStats = loadStats;
+        this.outlierDetector = outlierDetector;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (request.getContext() instanceof TimedRequestContext context && lbResponse.hasServer()) {
+            context.setRequestStartTime(System.nanoTime());
+            loadStats.onStart(lbResponse.getServer());
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (completionContext.status() == CompletionContext.Status.DISCARD
+            || !(completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext context)
+            || context.getRequestStartTime() == 0) {
+            return;
+        }
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED
+            || (completionContext.getClientResponse() instanceof ResponseData response
+                && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError());
+        loadStats.onComplete(lbResponse.getServer(), System.nanoTime() - context.getRequestStartTime(), failed);
+        outlierDetector.onComplete(lbResponse.getServer(), failed);
+    }
+}
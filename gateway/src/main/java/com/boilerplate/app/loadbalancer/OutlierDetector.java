@@ -0,0 +1,167 @@
+package com.boilerplate.app.loadbalancer;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Ejects backend instances (host:port) whose calls fail, as Envoy's outlier detection does,
+ * so a bad instance stops getting its share of traffic long before Eureka evicts it.
+ *
+ * An instance is ejected after consecutive-failures failed calls in a row, or when at least
+ * failure-rate-threshold of its calls in one interval failed. It comes back after
+ * base-ejection-time times the number of times it was ejected (capped at max-ejection-time);
+ * each clean interval afterwards forgets one ejection. Latency is not a reason to eject,
+ * {@link PeakEwmaLoadBalancer} already steers traffic away from slow instances.
+ *
+ * Exposes gateway.loadbalancer.ejections tagged with the instance.
+ */
+@Slf4j
+@Component
+public class OutlierDetector {
+    private final GatewayRouteConfig.OutlierDetection config;
+    private final MeterRegistry meterRegistry;
+    private final long intervalNanos;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    /** Source of {@link System#nanoTime()}, replaced in tests */
+    private final LongSupplier nanoClock;
+    private final Cache<String, Outlier> outliers = Caffeine.newBuilder()
+        .expireAfterAccess(Duration.ofMinutes(10))
+        .build();
+
+    @Autowired
+    public OutlierDetector(GatewayRouteConfig gatewayRouteConfig, MeterRegistry meterRegistry) {
+        this(gatewayRouteConfig, meterRegistry, System::nanoTime);
+    }
+
+    OutlierDetector(GatewayRouteConfig gatewayRouteConfig, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.config = gatewayRouteConfig.getLoadBalancer().getOutlierDetection();
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.intervalNanos = config.getInterval().toNanos();
+        this.baseEjectionNanos = config.getBaseEjectionTime().toNanos();
+        this.maxEjectionNanos = config.getMaxEjectionTime().toNanos();
+    }
+
+    public void onComplete(ServiceInstance instance, boolean failed) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        String key = InstanceLoadStats.key(instance);
+        long now = nanoClock.getAsLong();
+        long ejectionNanos = outliers.get(key, k -> new Outlier(now)).record(failed, now);
+        if (ejectionNanos > 0) {
+            meterRegistry.counter("gateway.loadbalancer.ejections", "instance", key).increment();
+            log.warn("Ejecting instance {} of {} for {}s", key, instance.getServiceId(), Duration.ofNanos(ejectionNanos).toSeconds());
+        }
+    }
+
+    /**
+     * Removes ejected instances, but never more than max-ejection-percent of them
+     * so the remaining instances are not overwhelmed.
+     */
+    public List<ServiceInstance> filter(List<ServiceInstance> instances) {
+        if (!config.isEnabled() || instances.size() < 2) {
+            return instances;
+        }
+        int maxEjected = instances.size() * config.getMaxEjectionPercent() / 100;
+        if (maxEjected == 0) {
+            return instances;
+        }
+
+        long now = nanoClock.getAsLong();
+        List<ServiceInstance> available = null;
+        int ejected = 0;
+        for (int i = 0; i < instances.size(); i++) {
+            ServiceInstance instance = instances.get(i);
+            Outlier outlier = outliers.getIfPresent(InstanceLoadStats.key(instance));
+            if (ejected < maxEjected && outlier != null && outlier.isEjected(now)) {
+                if (available == null) {
+                    available = new ArrayList<>(instances.subList(0, i));
+                }
+                ejected++;
+            } else if (available != null) {
+                available.add(instance);
+            }
+        }
+        return available != null ? available : instances;
+    }
+
+    private final class Outlier {
+        private int consecutiveFailures;
+        private int calls;
+        private int failures;
+        private long windowStart;
+        private long ejectedUntil;
+        private boolean ejected;
+        private int ejections;
+
+        private Outlier(long now) {
+            this.windowStart = now;
+        }
+
+        /**
+         * @return the ejection time if this call ejected the instance, otherwise 0
+         */
+        private synchronized long record(boolean failed, long now) {
+            if (ejected) {
+                if (now - ejectedUntil < 0) {
+                    // Calls that were in flight when the instance was ejected
+                    return 0;
+                }
+                // Back in rotation: the first interval from here on counts towards forgetting an ejection
+                ejected = false;
+                calls = 0;
+                failures = 0;
+                windowStart = now;
+            }
+            if (now - windowStart >= intervalNanos) {
+                if (calls > 0 && ejections > 0) {
+                    ejections--;
+                }
+                calls = 0;
+                failures = 0;
+                windowStart = now;
+            }
+
+            calls++;
+            if (!failed) {
+                consecutiveFailures = 0;
+                return 0;
+            }
+            failures++;
+            consecutiveFailures++;
+            boolean tooManyInARow = consecutiveFailures >= config.getConsecutiveFailures();
+            boolean failureRateExceeded = calls >= config.getMinimumCalls()
+                && failures >= calls * config.getFailureRateThreshold();
+            if (!tooManyInARow && !failureRateExceeded) {
+                return 0;
+            }
+
+            ejections++;
+            long ejectionNanos = Math.min(baseEjectionNanos * ejections, maxEjectionNanos);
+            ejectedUntil = now + ejectionNanos;
+            ejected = true;
+            consecutiveFailures = 0;
+            calls = 0;
+            failures = 0;
+            windowStart = now;
+            return ejectionNanos;
+        }
+
+        private synchronized boolean isEjected(long now) {
+            return ejected && now - ejectedUntil < 0;
+        }
+    }
+}
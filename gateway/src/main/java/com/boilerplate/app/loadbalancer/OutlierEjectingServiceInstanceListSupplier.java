@@ -0,0 +1,32 @@
+package com.boilerplate.app.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Hides instances ejected by {@link OutlierDetector} from the load balancer.
+ * Sits on top of the cached discovery list, so ejections apply to the very next request.
+ */
+public class OutlierEjectingServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+    private final OutlierDetector outlierDetector;
+
+    public OutlierEjectingServiceInstanceListSupplier(ServiceInstanceListSupplier delegate, OutlierDetector outlierDetector) {
+        super(delegate);
+        this.outlierDetector = outlierDetector;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return delegate.get().map(outlierDetector::filter);
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get(Request request) {
+        return delegate.get(request).map(outlierDetector::filter);
+    }
+}
@@ -0,0 +1,49 @@
+package com.boilerplate.app.loadbalancer;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load balancer configuration for every backend service, registered through
+ * {@link LoadBalancerConfig}. Instantiated in each service's load balancer context,
+ * so it is deliberately not a @Configuration picked up by component scanning.
+ */
+public class PeakEwmaLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+        Environment environment,
+        LoadBalancerClientFactory loadBalancerClientFactory,
+        GatewayRouteConfig gatewayRouteConfig,
+        InstanceLoadStats loadStats
+    ) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        var instances = loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+        if (!gatewayRouteConfig.getLoadBalancer().isEnabled()) {
+            return new RoundRobinLoadBalancer(instances, serviceId);
+        }
+        return new PeakEwmaLoadBalancer(instances, serviceId, loadStats);
+    }
+
+    /**
+     * Spring Cloud's default discovery list with caching, plus outlier ejection on top.
+     */
+    @Bean
+    public ServiceInstanceListSupplier discoveryClientServiceInstanceListSupplier(
+        ConfigurableApplicationContext context,
+        OutlierDetector outlierDetector
+    ) {
+        return ServiceInstanceListSupplier.builder()
+            .withDiscoveryClient()
+            .withCaching()
+            .with((ctx, delegate) -> new OutlierEjectingServiceInstanceListSupplier(delegate, outlierDetector))
+            .build(context);
+    }
+}
@@ -0,0 +1,30 @@
+package com.boilerplate.app.model;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Outcome of validating a bearer token.
+ *
+ * @param valid     whether the token may be used
+ * @param cacheable whether the outcome may be reused for later requests (false for transient errors)
+ * @param expiresAt value of the token's exp claim, if known
+ * @param claims    token claims, only populated for valid tokens
+ */
+public record TokenValidationResult(boolean valid, boolean cacheable, Instant expiresAt, Map<String, Object> claims) {
+
+    private static final TokenValidationResult INVALID = new TokenValidationResult(false, true, null, Map.of());
+    private static final TokenValidationResult UNAVAILABLE = new TokenValidationResult(false, false, null, Map.of());
+
+    public static TokenValidationResult valid(Instant expiresAt, Map<String, Object> claims) {
+        return new TokenValidationResult(true, true, expiresAt, claims != null ? claims : Map.of());
+    }
+
+    public static TokenValidationResult invalid() {
+        return INVALID;
+    }
+
+    public static TokenValidationResult unavailable() {
+        return UNAVAILABLE;
+    }
+}
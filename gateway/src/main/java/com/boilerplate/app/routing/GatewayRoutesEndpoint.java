@@ -0,0 +1,70 @@
+package com.boilerplate.app.routing;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import com.boilerplate.app.service.GatewayService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * /actuator/gatewayroutes: GET lists the routes in use, POST fetches the configuration again
+ * (from the config server when one is used) and reloads the routes without a restart,
+ * so connection pools, caches and load balancer statistics stay warm.
+ *
+ * Not exposed by default: anyone who can reach it can trigger a refresh, so expose it only on an
+ * internal management port (management.server.port), never through the gateway's public port.
+ */
+@Component
+@Endpoint(id = "gatewayroutes")
+public class GatewayRoutesEndpoint {
+    private final GatewayService gatewayService;
+    private final ObjectProvider<ContextRefresher> contextRefresher;
+
+    public GatewayRoutesEndpoint(GatewayService gatewayService, ObjectProvider<ContextRefresher> contextRefresher) {
+        this.gatewayService = gatewayService;
+        this.contextRefresher = contextRefresher;
+    }
+
+    @ReadOperation
+    public Map<String, Object> routes() {
+        return describe(gatewayService.routeTable());
+    }
+
+    @WriteOperation
+    public Map<String, Object> reload() {
+        ContextRefresher refresher = contextRefresher.getIfAvailable();
+        // A refresh updates the environment and reloads the routes through GatewayService's refresh listener
+        Set<String> changedKeys = refresher != null ? refresher.refresh() : Set.of();
+        RouteTable table = refresher != null ? gatewayService.routeTable() : gatewayService.reloadRoutes();
+
+        Map<String, Object> result = describe(table);
+        result.put("changedKeys", changedKeys);
+        return result;
+    }
+
+    private Map<String, Object> describe(RouteTable table) {
+        List<Map<String, Object>> routes = table.routes().stream().map(this::describe).toList();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("routes", routes);
+        result.put("publicPaths", table.publicPaths());
+        return result;
+    }
+
+    private Map<String, Object> describe(GatewayRouteConfig.Route route) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("path", route.getPath());
+        result.put("service", route.getService());
+        result.put("requiresAuth", route.isRequiresAuth());
+        result.put("streaming", route.isStreaming());
+        result.put("priority", route.getPriority());
+        return result;
+    }
+}
@@ -0,0 +1,169 @@
+package com.boilerplate.app.routing;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable lookup structure for routes and public paths, compiled from {@link GatewayRouteConfig}
+ * at startup and again on every reload, then swapped in as a whole.
+ * Patterns are stored in a character trie so a lookup walks the request path once,
+ * independent of how many routes are configured.
+ *
+ * Matching rules are the same as the configuration describes:
+ * - {@code /prefix/**} matches any path starting with {@code /prefix}
+ * - {@code /exact} matches {@code /exact} and anything below {@code /exact/}
+ * - the longest pattern wins, ties go to the route declared first
+ * - a public path matches any request path it is a prefix of
+ */
+public final class RouteTable {
+    private static final String WILDCARD_SUFFIX = "/**";
+
+    private final Node root;
+    private final List<GatewayRouteConfig.Route> routes;
+    private final List<String> publicPaths;
+
+    private RouteTable(Node root, List<GatewayRouteConfig.Route> routes, List<String> publicPaths) {
+        this.root = root;
+        this.routes = routes;
+        this.publicPaths = publicPaths;
+    }
+
+    public static RouteTable compile(List<GatewayRouteConfig.Route> routes, List<String> publicPaths) {
+        Node root = new Node();
+        List<GatewayRouteConfig.Route> compiledRoutes = new ArrayList<>();
+        List<String> compiledPublicPaths = new ArrayList<>();
+
+        if (routes != null) {
+            for (int index = 0; index < routes.size(); index++) {
+                GatewayRouteConfig.Route route = routes.get(index);
+                if (route == null || route.getPath() == null) {
+                    continue;
+                }
+                compiledRoutes.add(route);
+                String pattern = route.getPath();
+                Entry entry = new Entry(route, pattern.length(), index);
+                if (pattern.endsWith(WILDCARD_SUFFIX)) {
+                    Node node = root.insert(pattern.substring(0, pattern.length() - WILDCARD_SUFFIX.length()));
+                    if (node.prefixEntry == null) {
+                        node.prefixEntry = entry;
+                    }
+                } else {
+                    Node node = root.insert(pattern);
+                    if (node.exactEntry == null) {
+                        node.exactEntry = entry;
+                    }
+                }
+            }
+        }
+
+        if (publicPaths != null) {
+            for (String publicPath : publicPaths) {
+                if (publicPath != null) {
+                    root.insert(publicPath).publicPrefix = true;
+                    compiledPublicPaths.add(publicPath);
+                }
+            }
+        }
+
+        return new RouteTable(root, List.copyOf(compiledRoutes), List.copyOf(compiledPublicPaths));
+    }
+
+    public List<GatewayRouteConfig.Route> routes() {
+        return routes;
+    }
+
+    public List<String> publicPaths() {
+        return publicPaths;
+    }
+
+    public GatewayRouteConfig.Route match(String path) {
+        if (path == null) {
+            return null;
+        }
+
+        Entry best = null;
+        Node node = root;
+        int position = 0;
+        while (node != null) {
+            if (node.prefixEntry != null) {
+                best = better(best, node.prefixEntry);
+            }
+            if (node.exactEntry != null && (position == path.length() || path.charAt(position) == '/')) {
+                best = better(best, node.exactEntry);
+            }
+            if (position == path.length()) {
+                break;
+            }
+            node = node.child(path.charAt(position++));
+        }
+        return best != null ? best.route : null;
+    }
+
+    public boolean isPublicPath(String path) {
+        if (path == null) {
+            return false;
+        }
+
+        Node node = root;
+        int position = 0;
+        while (node != null) {
+            if (node.publicPrefix) {
+                return true;
+            }
+            if (position == path.length()) {
+                return false;
+            }
+            node = node.child(path.charAt(position++));
+        }
+        return false;
+    }
+
+    private static Entry better(Entry current, Entry candidate) {
+        if (current == null
+            || candidate.patternLength > current.patternLength
+            || (candidate.patternLength == current.patternLength && candidate.order < current.order)) {
+            return candidate;
+        }
+        return current;
+    }
+
+    private record Entry(GatewayRouteConfig.Route route, int patternLength, int order) {
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private Entry prefixEntry;
+        private Entry exactEntry;
+        private boolean publicPrefix;
+
+        private Node child(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node insert(String path) {
+            Node node = this;
+            for (int i = 0; i < path.length(); i++) {
+                char key = path.charAt(i);
+                Node next = node.child(key);
+                if (next == null) {
+                    next = new Node();
+                    node.keys = Arrays.copyOf(node.keys, node.keys.length + 1);
+                    node.children = Arrays.copyOf(node.children, node.children.length + 1);
+                    node.keys[node.keys.length - 1] = key;
+                    node.children[node.children.length - 1] = next;
+                }
+                node = next;
+            }
+            return node;
+        }
+    }
+}
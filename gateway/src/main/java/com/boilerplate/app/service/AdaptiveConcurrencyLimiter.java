@@ -0,0 +1,186 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Adaptive limit on in-flight requests per backend service.
+ *
+ * The limit follows the gradient between long-term and recent latency: while recent
+ * latency stays close to the long-term average the limit grows by roughly sqrt(limit)
+ * per window, once it rises above average * rtt-tolerance the limit shrinks
+ * proportionally. Requests beyond the limit are rejected immediately instead of
+ * queueing for a pooled connection.
+ *
+ * Exposes gateway.concurrency.limit, gateway.concurrency.inflight and
+ * gateway.concurrency.rejected, tagged with the service id.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+    private static final Permit NOOP_PERMIT = new Permit(null, 0);
+
+    /** Number of windows the long-term latency average spans */
+    private static final int LONG_WINDOW = 600;
+
+    private final GatewayRouteConfig gatewayRouteConfig;
+    private final MeterRegistry meterRegistry;
+    /** Source of {@link System#nanoTime()}, replaced in tests */
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, Limit> limits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(GatewayRouteConfig gatewayRouteConfig, MeterRegistry meterRegistry) {
+        this(gatewayRouteConfig, meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(GatewayRouteConfig gatewayRouteConfig, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.gatewayRouteConfig = gatewayRouteConfig;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return a permit that must be completed or ignored once the call is done,
+     * or null if the service is at its limit
+     */
+    public Permit tryAcquire(String serviceId) {
+        GatewayRouteConfig.ConcurrencyLimit config = gatewayRouteConfig.getConcurrencyLimit();
+        if (config == null || !config.isEnabled()) {
+            return NOOP_PERMIT;
+        }
+
+        Limit limit = limits.computeIfAbsent(serviceId, id -> new Limit(id, config));
+        if (limit.inFlight.incrementAndGet() > limit.limit) {
+            limit.inFlight.decrementAndGet();
+            limit.rejected.increment();
+            log.debug("Concurrency limit {} reached for service {}", limit.limit, serviceId);
+            return null;
+        }
+        return new Permit(limit, nanoClock.getAsLong());
+    }
+
+    public static final class Permit {
+        private final Limit limit;
+        private final long startNanos;
+
+        private Permit(Limit limit, long startNanos) {
+            this.limit = limit;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Releases the permit and records the call's latency.
+         */
+        public void onComplete() {
+            if (limit != null) {
+                limit.sample(startNanos, limit.inFlight.getAndDecrement());
+            }
+        }
+
+        /**
+         * Releases the permit without a latency sample, for calls that never reached the backend.
+         */
+        public void onIgnore() {
+            if (limit != null) {
+                limit.inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private final class Limit {
+        private final GatewayRouteConfig.ConcurrencyLimit config;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Counter rejected;
+        private volatile int limit;
+
+        private final LongAdder windowRttSum = new LongAdder();
+        private final LongAdder windowSamples = new LongAdder();
+        private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+        private final ReentrantLock updateLock = new ReentrantLock();
+        private volatile long windowStart;
+        private double longRtt;
+        private long windows;
+        private double estimatedLimit;
+
+        private Limit(String serviceId, GatewayRouteConfig.ConcurrencyLimit config) {
+            this.config = config;
+            this.limit = config.getInitialLimit();
+            this.estimatedLimit = config.getInitialLimit();
+            this.windowStart = nanoClock.getAsLong();
+            this.rejected = meterRegistry.counter("gateway.concurrency.rejected", "service", serviceId);
+            Gauge.builder("gateway.concurrency.limit", this, l -> l.limit)
+                .tag("service", serviceId)
+                .register(meterRegistry);
+            Gauge.builder("gateway.concurrency.inflight", inFlight, AtomicInteger::get)
+                .tag("service", serviceId)
+                .register(meterRegistry);
+        }
+
+        private void sample(long startNanos, int inFlightAtCompletion) {
+            long now = nanoClock.getAsLong();
+            windowRttSum.add(now - startNanos);
+            windowSamples.increment();
+            windowMaxInFlight.accumulateAndGet(inFlightAtCompletion, Math::max);
+
+            if (now - windowStart < config.getWindow().toNanos()
+                || windowSamples.sum() < config.getMinWindowSamples()
+                || !updateLock.tryLock()) {
+                return;
+            }
+            try {
+                long samples = windowSamples.sumThenReset();
+                if (samples == 0) {
+                    return;
+                }
+                double shortRtt = (double) windowRttSum.sumThenReset() / samples;
+                int maxInFlight = windowMaxInFlight.getAndSet(0);
+                windowStart = now;
+                update(shortRtt, maxInFlight);
+            } finally {
+                updateLock.unlock();
+            }
+        }
+
+        private void update(double shortRtt, int maxInFlight) {
+            // Plain average until LONG_WINDOW windows are seen, so a slow first window does not anchor the baseline
+            windows++;
+            longRtt += (shortRtt - longRtt) / Math.min(windows, LONG_WINDOW);
+
+            // Let the baseline follow a lasting drop in latency instead of waiting for the average
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+
+            // Too little traffic to tell whether the limit is the bottleneck
+            if (maxInFlight < estimatedLimit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, config.getRttTolerance() * longRtt / shortRtt));
+            double queueSize = Math.sqrt(estimatedLimit);
+            double newLimit = estimatedLimit * gradient + queueSize;
+            newLimit = estimatedLimit * (1 - config.getSmoothing()) + newLimit * config.getSmoothing();
+            estimatedLimit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), newLimit));
+
+            int previous = limit;
+            limit = (int) estimatedLimit;
+            if (previous != limit) {
+                log.debug("Concurrency limit changed {} -> {} (shortRtt={}ms, longRtt={}ms)",
+                    previous, limit, shortRtt / 1_000_000, longRtt / 1_000_000);
+            }
+        }
+    }
+}
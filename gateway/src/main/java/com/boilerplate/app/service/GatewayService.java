@@ -1,11 +1,22 @@
 package com.boilerplate.app.service;
 
+import com.boilerplate.app.base.constant.PartnerContextConstants;
 import com.boilerplate.app.config.GatewayRouteConfig;
+import com.boilerplate.app.filter.AuthenticationFilter;
+import com.boilerplate.app.routing.RouteTable;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
@@ -17,72 +28,174 @@ import org.springframework.web.client.RestTemplate;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class GatewayService {
+    public static final String ROUTE_ATTRIBUTE = GatewayService.class.getName() + ".route";
+
     private final RestTemplate restTemplate;
     private final GatewayRouteConfig gatewayRouteConfig;
-    private final CircuitBreaker serviceCircuitBreaker;
+    private final ServiceResilienceRegistry resilienceRegistry;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RequestHedger requestHedger;
+    private final RequestRetrier requestRetrier;
+    private final HttpResponseCache responseCache;
+    private final LoadShedder loadShedder;
+    private final StaleResponseStore staleResponseStore;
+    private final Environment environment;
+    private volatile RouteTable routeTable;
 
-    public GatewayRouteConfig.Route findMatchingRoute(String path) {
-        if (gatewayRouteConfig.getRoutes() == null || gatewayRouteConfig.getRoutes().isEmpty()) {
-            return null;
+    @PostConstruct
+    void compileRoutes() {
+        routeTable = RouteTable.compile(gatewayRouteConfig.getRoutes(), gatewayRouteConfig.getPublicPaths());
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    void onRefresh() {
+        reloadRoutes();
+    }
+
+    /**
+     * Binds gateway.routes and gateway.public-paths from the environment as it is after a refresh
+     * from the config server, compiles them and swaps them in as a whole. Requests already routed
+     * keep the route they resolved. If the new routes cannot be bound or compiled the current table is kept.
+     *
+     * {@link GatewayRouteConfig} itself is never rebound (spring.cloud.refresh.never-refreshable),
+     * so every other gateway setting keeps the value it was started with.
+     *
+     * @return the table in use afterwards
+     */
+    public RouteTable reloadRoutes() {
+        try {
+            Binder binder = Binder.get(environment);
+            List<GatewayRouteConfig.Route> routes = binder
+                .bind("gateway.routes", Bindable.listOf(GatewayRouteConfig.Route.class))
+                .orElseGet(List::of);
+            List<String> publicPaths = binder
+                .bind("gateway.public-paths", Bindable.listOf(String.class))
+                .orElseGet(List::of);
+            RouteTable table = RouteTable.compile(routes, publicPaths);
+            routeTable = table;
+            log.info("Reloaded gateway routes: {} routes, {} public paths", table.routes().size(), table.publicPaths().size());
+        } catch (RuntimeException e) {
+            log.error("Failed to reload gateway routes, keeping the current ones: {}", e.getMessage(), e);
         }
+        return routeTable;
+    }
+
+    public RouteTable routeTable() {
+        return routeTable;
+    }
 
-        return gatewayRouteConfig.getRoutes().stream()
-            .filter(route -> route.getPath() != null && matchesPath(path, route.getPath()))
-            .max((r1, r2) -> Integer.compare(r1.getPath().length(), r2.getPath().length()))
-            .orElse(null);
+    public GatewayRouteConfig.Route findMatchingRoute(String path) {
+        return routeTable.match(path);
     }
 
-    private boolean matchesPath(String path, String pattern) {
-        if (pattern.endsWith("/**")) {
-            String prefix = pattern.substring(0, pattern.length() - 3);
-            return path.startsWith(prefix);
+    /**
+     * Resolves the route for a request once and keeps it as a request attribute
+     * so filters and the controller share the same lookup.
+     */
+    public GatewayRouteConfig.Route resolveRoute(HttpServletRequest request) {
+        if (request.getAttribute(ROUTE_ATTRIBUTE) instanceof GatewayRouteConfig.Route route) {
+            return route;
+        }
+        GatewayRouteConfig.Route route = findMatchingRoute(request.getRequestURI());
+        if (route != null) {
+            request.setAttribute(ROUTE_ATTRIBUTE, route);
         }
-        return path.equals(pattern) || path.startsWith(pattern + "/");
+        return route;
     }
 
     public boolean isPublicPath(String path) {
-        if (gatewayRouteConfig.getPublicPaths() == null) {
-            return false;
-        }
-        return gatewayRouteConfig.getPublicPaths().stream()
-            .anyMatch(publicPath -> path.startsWith(publicPath));
+        return routeTable.isPublicPath(path);
     }
 
     public ResponseEntity<String> routeRequest(
-        String serviceId,
+        GatewayRouteConfig.Route route,
         String path,
         HttpMethod method,
         HttpHeaders headers,
         Object body,
         HttpServletRequest request
     ) {
-        Supplier<ResponseEntity<String>> supplier = () -> executeRequest(serviceId, path, method, headers, body, request);
-        
+        String serviceId = route.getService();
+        HttpResponseCache.Key cacheKey = responseCache.keyFor(route, method, request);
+        HttpResponseCache.Entry cached = cacheKey != null ? responseCache.get(cacheKey) : null;
+        if (cached != null && cached.isFresh()) {
+            return cached.toResponse();
+        }
+        // Expired entries are only kept if they have an ETag, ask the backend whether they are still current
+        String revalidateETag = cached != null ? cached.eTag() : null;
+        StaleResponseStore.Snapshot staleSnapshot = staleResponseStore.capture(route, path, method, headers, request);
+
+        // Buffering the body and validating the token took time since admission, the client may have given up by now
+        if (loadShedder.isPastQueueDeadline(route, request)) {
+            return fallbackResponse(serviceId, "Request waited too long to be forwarded.");
+        }
+
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.tryAcquire(serviceId);
+        if (permit == null) {
+            return fallbackResponse(serviceId, "Concurrency limit reached. Service is temporarily unavailable.");
+        }
+
+        Supplier<ResponseEntity<String>> supplier = () -> {
+            try {
+                return executeRequest(route, path, method, headers, body, request, revalidateETag);
+            } finally {
+                permit.onComplete();
+            }
+        };
+        // Bulkhead outside the breaker so rejected calls are not counted as backend failures
+        supplier = CircuitBreaker.decorateSupplier(resilienceRegistry.circuitBreaker(serviceId), supplier);
+        supplier = Bulkhead.decorateSupplier(resilienceRegistry.bulkhead(serviceId), supplier);
+
         try {
-            return serviceCircuitBreaker.executeSupplier(supplier);
+            ResponseEntity<String> response = supplier.get();
+            if (revalidateETag != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                response = responseCache.revalidated(cacheKey, cached, route, response);
+            } else if (cacheKey != null) {
+                responseCache.put(cacheKey, route, response);
+            }
+            if (staleSnapshot != null) {
+                staleResponseStore.put(staleSnapshot, response);
+            }
+            return response;
         } catch (CallNotPermittedException e) {
+            permit.onIgnore();
             log.warn("Circuit breaker is OPEN for service {}: {}", serviceId, e.getMessage());
-            return fallbackResponse(serviceId, "Circuit breaker is open. Service is temporarily unavailable.");
+            return staleOr(staleSnapshot, fallbackResponse(serviceId, "Circuit breaker is open. Service is temporarily unavailable."));
+        } catch (BulkheadFullException e) {
+            permit.onIgnore();
+            log.warn("Bulkhead is full for service {}: {}", serviceId, e.getMessage());
+            return fallbackResponse(serviceId, "Too many concurrent requests. Service is temporarily unavailable.");
         } catch (Exception e) {
             log.error("Error in circuit breaker execution for service {}: {}", serviceId, e.getMessage());
-            return handleException(serviceId, e);
+            return staleOr(staleSnapshot, handleException(serviceId, e));
         }
     }
 
+    /**
+     * @return the last good response of a stale-fallback route if one is kept, otherwise the fallback
+     */
+    private ResponseEntity<String> staleOr(StaleResponseStore.Snapshot snapshot, ResponseEntity<String> fallback) {
+        ResponseEntity<String> stale = snapshot != null ? staleResponseStore.serveStale(snapshot) : null;
+        return stale != null ? stale : fallback;
+    }
+
     private ResponseEntity<String> executeRequest(
-        String serviceId,
+        GatewayRouteConfig.Route route,
         String path,
         HttpMethod method,
         HttpHeaders headers,
         Object body,
-        HttpServletRequest request
+        HttpServletRequest request,
+        String revalidateETag
     ) {
+        String serviceId = route.getService();
         try {
             String pathValue = path != null ? path : "";
             String queryString = request != null ? request.getQueryString() : null;
@@ -94,6 +207,16 @@ public class GatewayService {
             log.debug("Routing {} {} to service {} at {}", method, request != null ? request.getRequestURI() : path, serviceId, targetUrl);
 
             HttpHeaders requestHeaders = copyHeaders(headers, request);
+            long deadlineNanos = loadShedder.deadlineNanos(route, request);
+            if (!LoadShedder.stampDeadline(requestHeaders, deadlineNanos)) {
+                loadShedder.rejectPastDeadline(route);
+                return deadlineExceededResponse(serviceId);
+            }
+            if (revalidateETag != null) {
+                // Revalidating the gateway's cached copy, the client's own validators do not apply to it
+                requestHeaders.setIfNoneMatch(revalidateETag);
+                requestHeaders.remove(HttpHeaders.IF_MODIFIED_SINCE);
+            }
             Object requestBody = body;
             String contentType = request != null ? request.getContentType() : null;
             if (contentType != null && contentType.contains("application/x-www-form-urlencoded")) {
@@ -108,12 +231,20 @@ public class GatewayService {
 
             HttpEntity<?> requestEntity = new HttpEntity<>(requestBody, requestHeaders);
             HttpMethod httpMethod = method != null ? method : HttpMethod.GET;
-            ResponseEntity<String> response = restTemplate.exchange(
-                targetUrl,
-                httpMethod,
-                requestEntity,
-                String.class
-            );
+            ResponseEntity<String> response;
+            if (requestHedger.appliesTo(route, httpMethod)) {
+                // A hedge already falls back to its other attempt on connection failures
+                response = requestHedger.exchange(route, pathValue, httpMethod, requestEntity, deadlineNanos);
+            } else if (requestRetrier.appliesTo(route, httpMethod)) {
+                response = requestRetrier.exchange(route, pathValue, httpMethod, requestEntity, deadlineNanos);
+            } else {
+                response = restTemplate.exchange(
+                    targetUrl,
+                    httpMethod,
+                    requestEntity,
+                    String.class
+                );
+            }
 
             HttpHeaders filteredHeaders = filterResponseHeaders(response.getHeaders());
 
@@ -142,24 +273,33 @@ public class GatewayService {
             }
             throw new RuntimeException("Error routing to service: " + e.getMessage(), e);
         } catch (org.springframework.web.client.ResourceAccessException e) {
+            // Rethrown as is so the circuit breaker's recordExceptions matches it
             log.error("Connection error routing to service {}: {}", serviceId, e.getMessage());
-            throw new RuntimeException("Connection failed to service " + serviceId, e);
+            throw e;
         }
     }
 
-    private ResponseEntity<String> fallbackResponse(String serviceId, String message) {
+    static ResponseEntity<String> fallbackResponse(String serviceId, String message) {
         return ResponseEntity
             .status(HttpStatus.SERVICE_UNAVAILABLE)
             .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
             .body("{\"error\":\"Service unavailable\",\"message\":\"" + message + "\",\"service\":\"" + serviceId + "\"}");
     }
 
+    static ResponseEntity<String> deadlineExceededResponse(String serviceId) {
+        return ResponseEntity
+            .status(HttpStatus.GATEWAY_TIMEOUT)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body("{\"error\":\"Gateway timeout\",\"message\":\"Request deadline exceeded before it was forwarded.\",\"service\":\"" + serviceId + "\"}");
+    }
+
     private ResponseEntity<String> handleException(String serviceId, Exception e) {
         if (e.getCause() instanceof IllegalStateException) {
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                 .body("{\"error\":\"Service unavailable\",\"message\":\"No instances available for service " + serviceId + "\"}");
         }
-        if (e.getCause() instanceof org.springframework.web.client.ResourceAccessException) {
+        if (e instanceof org.springframework.web.client.ResourceAccessException
+            || e.getCause() instanceof org.springframework.web.client.ResourceAccessException) {
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                 .body("{\"error\":\"Service unavailable\",\"message\":\"Connection failed to service " + serviceId + "\"}");
         }
@@ -168,7 +308,7 @@ public class GatewayService {
             .body("{\"error\":\"Gateway error\",\"message\":\"" + e.getMessage() + "\"}");
     }
 
-    private HttpHeaders filterResponseHeaders(HttpHeaders originalHeaders) {
+    static HttpHeaders filterResponseHeaders(HttpHeaders originalHeaders) {
         HttpHeaders filteredHeaders = new HttpHeaders();
 
         if (originalHeaders != null) {
@@ -187,7 +327,7 @@ public class GatewayService {
         return filteredHeaders;
     }
 
-    private HttpHeaders copyHeaders(HttpHeaders existingHeaders, HttpServletRequest request) {
+    static HttpHeaders copyHeaders(HttpHeaders existingHeaders, HttpServletRequest request) {
         HttpHeaders headers = existingHeaders != null ? new HttpHeaders(existingHeaders) : new HttpHeaders();
 
         Enumeration<String> headerNames = request.getHeaderNames();
@@ -213,11 +353,23 @@ public class GatewayService {
         headers.remove("host");
         headers.remove("connection");
         headers.remove("transfer-encoding");
+        forwardPartnerContext(request, headers);
 
         return headers;
     }
 
-    private MultiValueMap<String, String> parseFormData(String formDataString) {
+    /**
+     * Replaces any X-Partner-Context sent by the client with the one signed by
+     * {@link com.boilerplate.app.filter.AuthenticationFilter} for this request, if any.
+     */
+    static void forwardPartnerContext(HttpServletRequest request, HttpHeaders headers) {
+        headers.remove(PartnerContextConstants.PARTNER_CONTEXT_HEADER);
+        if (request.getAttribute(AuthenticationFilter.PARTNER_CONTEXT_ATTRIBUTE) instanceof String partnerContext) {
+            headers.set(PartnerContextConstants.PARTNER_CONTEXT_HEADER, partnerContext);
+        }
+    }
+
+    static MultiValueMap<String, String> parseFormData(String formDataString) {
         MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
         if (formDataString == null || formDataString.isEmpty()) {
             return formData;
@@ -0,0 +1,263 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Gateway-side cache of successful GET responses for routes with cache.enabled.
+ * Keyed by path, query and the route's vary-headers; bounded by the total size of the cached
+ * responses with Caffeine's TinyLFU eviction. Each entry is fresh for the response's
+ * Cache-Control s-maxage or max-age (or the route's default-ttl), capped by max-ttl.
+ * Once expired, entries with an ETag are kept for stale-retention so the next request
+ * revalidates them with If-None-Match, and a 304 from the backend renews them without a body.
+ * Exposes cache.gets/cache.puts/cache.evictions tagged cache=gateway.response and
+ * gateway.response.cache.size in bytes.
+ */
+@Slf4j
+@Component
+public class HttpResponseCache {
+    private static final String CACHE_NAME = "gateway.response";
+    /** Rough per-entry overhead of key, entry and header map, counted towards the size bound */
+    private static final int ENTRY_OVERHEAD = 256;
+
+    private final Cache<Key, Entry> cache;
+    private final Duration maxTtl;
+    /** Source of {@link System#nanoTime()} for entries and the cache's expiry, replaced in tests */
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public HttpResponseCache(GatewayRouteConfig gatewayRouteConfig, MeterRegistry meterRegistry) {
+        this(gatewayRouteConfig, meterRegistry, System::nanoTime);
+    }
+
+    HttpResponseCache(GatewayRouteConfig gatewayRouteConfig, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        GatewayRouteConfig.ResponseCache config = gatewayRouteConfig.getResponseCache();
+        if (config == null || !config.isEnabled()) {
+            this.cache = null;
+            this.maxTtl = Duration.ZERO;
+            return;
+        }
+
+        this.maxTtl = config.getMaxTtl();
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(config.getMaximumSize().toBytes())
+            .weigher((Key key, Entry entry) -> entry.weight())
+            .expireAfter(new EntryExpiry(config.getStaleRetention().toNanos()))
+            .ticker(nanoClock::getAsLong)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("gateway.response.cache.size", cache,
+                c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return the cache key of the request, or null if the request is not cacheable
+     */
+    public Key keyFor(GatewayRouteConfig.Route route, HttpMethod method, HttpServletRequest request) {
+        GatewayRouteConfig.Cache config = route.getCache();
+        if (cache == null || config == null || !config.isEnabled() || !HttpMethod.GET.equals(method)) {
+            return null;
+        }
+        List<String> varyValues = new ArrayList<>(config.getVaryHeaders().size());
+        for (String header : config.getVaryHeaders()) {
+            varyValues.add(request.getHeader(header));
+        }
+        return new Key(request.getRequestURI(), request.getQueryString(), varyValues);
+    }
+
+    /**
+     * @return the cached entry, fresh or awaiting revalidation, or null on a miss
+     */
+    public Entry get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Stores the response if it is a 200 whose headers allow a shared cache to keep it.
+     */
+    public void put(Key key, GatewayRouteConfig.Route route, ResponseEntity<String> response) {
+        if (response.getStatusCode().value() != HttpStatus.OK.value() || response.getBody() == null) {
+            return;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        headers.remove(HttpHeaders.AGE);
+        store(key, route, headers, response.getBody());
+    }
+
+    /**
+     * Renews an entry the backend confirmed with a 304, taking over the headers of the 304
+     * as a shared cache does, and returns the cached response.
+     */
+    public ResponseEntity<String> revalidated(Key key, Entry entry, GatewayRouteConfig.Route route, ResponseEntity<String> notModified) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(entry.headers());
+        notModified.getHeaders().forEach((name, values) -> {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                headers.put(name, values);
+            }
+        });
+        headers.remove(HttpHeaders.AGE);
+
+        Entry renewed = store(key, route, headers, entry.body());
+        if (renewed == null) {
+            // No longer cacheable, but the backend still confirmed this body is current
+            cache.invalidate(key);
+            renewed = new Entry(headers, entry.body(), nanoClock.getAsLong(), 0, nanoClock);
+        }
+        return renewed.toResponse();
+    }
+
+    private Entry store(Key key, GatewayRouteConfig.Route route, HttpHeaders headers, String body) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE) || !varyCoveredByKey(headers, route.getCache())) {
+            return null;
+        }
+        Duration ttl = ttlOf(headers, route.getCache().getDefaultTtl());
+        if (ttl.isZero() || ttl.isNegative()) {
+            return null;
+        }
+        if (ttl.compareTo(maxTtl) > 0) {
+            ttl = maxTtl;
+        }
+
+        Entry entry = new Entry(headers, body, nanoClock.getAsLong(), ttl.toNanos(), nanoClock);
+        cache.put(key, entry);
+        log.debug("Cached response for {} for {}s", key.path(), ttl.toSeconds());
+        return entry;
+    }
+
+    /**
+     * A response that varies on a header outside the route's vary-headers would be served to callers it was not meant for.
+     */
+    private boolean varyCoveredByKey(HttpHeaders headers, GatewayRouteConfig.Cache config) {
+        for (String vary : headers.getVary()) {
+            if ("*".equals(vary) || config.getVaryHeaders().stream().noneMatch(vary::equalsIgnoreCase)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Duration ttlOf(HttpHeaders headers, Duration defaultTtl) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return defaultTtl;
+        }
+
+        Duration maxAge = null;
+        Duration sharedMaxAge = null;
+        for (String directive : cacheControl.split(",")) {
+            String value = directive.trim().toLowerCase(Locale.ROOT);
+            if (value.equals("no-store") || value.equals("no-cache") || value.equals("private")) {
+                return Duration.ZERO;
+            } else if (value.startsWith("s-maxage=")) {
+                sharedMaxAge = parseSeconds(value.substring("s-maxage=".length()));
+            } else if (value.startsWith("max-age=")) {
+                maxAge = parseSeconds(value.substring("max-age=".length()));
+            }
+        }
+        if (sharedMaxAge != null) {
+            return sharedMaxAge;
+        }
+        return maxAge != null ? maxAge : defaultTtl;
+    }
+
+    private Duration parseSeconds(String value) {
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.replace("\"", "")));
+        } catch (NumberFormatException e) {
+            return Duration.ZERO;
+        }
+    }
+
+    /**
+     * A GET request by path, query and the values of the route's vary headers, also the key of {@link StaleResponseStore}.
+     */
+    public record Key(String path, String query, List<String> varyValues) {
+    }
+
+    public record Entry(HttpHeaders headers, String body, long storedAtNanos, long ttlNanos, LongSupplier nanoClock) {
+        public boolean isFresh() {
+            return nanoClock.getAsLong() - storedAtNanos < ttlNanos;
+        }
+
+        /**
+         * @return the backend's ETag, or null if the entry cannot be revalidated
+         */
+        public String eTag() {
+            return headers.getETag();
+        }
+
+        /**
+         * @return the cached response with an Age header
+         */
+        public ResponseEntity<String> toResponse() {
+            long ageSeconds = Duration.ofNanos(nanoClock.getAsLong() - storedAtNanos).toSeconds();
+            HttpHeaders response = new HttpHeaders();
+            response.addAll(headers);
+            response.set(HttpHeaders.AGE, Long.toString(ageSeconds));
+            return ResponseEntity.status(HttpStatus.OK).headers(response).body(body);
+        }
+
+        private int weight() {
+            return weigh(headers, body);
+        }
+    }
+
+    /**
+     * @return the approximate size in bytes of a kept response, also used by {@link StaleResponseStore}
+     */
+    static int weigh(HttpHeaders headers, String body) {
+        long size = ENTRY_OVERHEAD + body.length();
+        for (var header : headers.entrySet()) {
+            size += header.getKey().length();
+            for (String value : header.getValue()) {
+                size += value.length();
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    /**
+     * Entries live for their TTL, plus stale-retention if they can be revalidated.
+     */
+    private record EntryExpiry(long staleRetentionNanos) implements Expiry<Key, Entry> {
+        @Override
+        public long expireAfterCreate(Key key, Entry value, long currentTime) {
+            return value.eTag() != null ? value.ttlNanos() + staleRetentionNanos : value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Entry value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.base.util.DeadlineContext;
+import com.boilerplate.app.config.GatewayRouteConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sheds routed requests by route priority when the gateway is saturated, and drops requests
+ * that waited so long before being forwarded that their client has likely given up.
+ *
+ * Requests of a priority are admitted while fewer than max-concurrent-requests * admit-until
+ * requests are in flight, so LOW routes are turned away first and CRITICAL ones last.
+ * A request's wait starts when the load balancer in front of the gateway received it
+ * (X-Request-Start) or otherwise when it reached the gateway, and is checked on arrival and
+ * again once the request body has been buffered and its token validated, before a
+ * concurrency permit is taken. Nothing queues after that: the concurrency limit and the
+ * bulkhead reject at once instead of waiting.
+ *
+ * The same arrival time bounds the request's deadline: the backend is told how much of the
+ * route's timeout is left in {@link DeadlineContext#HEADER}, so it can stop working for a
+ * client that has already been timed out.
+ *
+ * Exposes gateway.shedding.inflight and gateway.shedding.rejected tagged with priority and reason.
+ */
+@Slf4j
+@Component
+public class LoadShedder {
+    public static final String REQUEST_START_HEADER = "X-Request-Start";
+    private static final String ARRIVAL_ATTRIBUTE = LoadShedder.class.getName() + ".arrival";
+    private static final Admission NOOP_ADMISSION = new Admission(null);
+
+    private final GatewayRouteConfig gatewayRouteConfig;
+    private final MeterRegistry meterRegistry;
+    private final Duration defaultTimeout;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LoadShedder(
+        GatewayRouteConfig gatewayRouteConfig,
+        MeterRegistry meterRegistry,
+        @Value("${gateway.http-client.read-timeout:30000}") long readTimeoutMillis
+    ) {
+        this.gatewayRouteConfig = gatewayRouteConfig;
+        this.meterRegistry = meterRegistry;
+        this.defaultTimeout = Duration.ofMillis(readTimeoutMillis);
+        Gauge.builder("gateway.shedding.inflight", inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * @return an admission to release once the request is done, or null if the request is shed
+     */
+    public Admission tryAdmit(GatewayRouteConfig.Route route, HttpServletRequest request) {
+        request.setAttribute(ARRIVAL_ATTRIBUTE, System.nanoTime() - upstreamWaitNanos(request));
+        GatewayRouteConfig.LoadShedding config = gatewayRouteConfig.getLoadShedding();
+        if (config == null || !config.isEnabled()) {
+            return NOOP_ADMISSION;
+        }
+
+        if (isPastQueueDeadline(route, request)) {
+            return null;
+        }
+
+        GatewayRouteConfig.Priority priority = route.getPriority();
+        double share = config.getAdmitUntil().getOrDefault(priority, 1.0);
+        int capacity = (int) Math.ceil(config.getMaxConcurrentRequests() * share);
+        if (inFlight.incrementAndGet() > capacity) {
+            inFlight.decrementAndGet();
+            reject(priority, "overload");
+            log.debug("Shedding {} request to {}, {} requests in flight", priority, route.getPath(), inFlight.get());
+            return null;
+        }
+        return new Admission(inFlight);
+    }
+
+    /**
+     * Whether the request has waited longer than its route's queue-timeout since it arrived.
+     * Counted as rejected when true, the caller must drop the request.
+     */
+    public boolean isPastQueueDeadline(GatewayRouteConfig.Route route, HttpServletRequest request) {
+        GatewayRouteConfig.LoadShedding config = gatewayRouteConfig.getLoadShedding();
+        if (config == null || !config.isEnabled() || request == null
+            || !(request.getAttribute(ARRIVAL_ATTRIBUTE) instanceof Long arrival)) {
+            return false;
+        }
+        Duration timeout = route.getQueueTimeout() != null ? route.getQueueTimeout() : config.getQueueTimeout();
+        if (System.nanoTime() - arrival <= timeout.toNanos()) {
+            return false;
+        }
+        reject(route.getPriority(), "queue-timeout");
+        return true;
+    }
+
+    /**
+     * Sets {@link DeadlineContext#HEADER} on the outbound headers to what is left of the route's
+     * timeout (gateway.http-client.read-timeout unless set), or of the client's own deadline if shorter.
+     *
+     * @return false if nothing is left, the caller must not forward the request
+     */
+    public boolean stampDeadline(GatewayRouteConfig.Route route, HttpServletRequest request, HttpHeaders headers) {
+        if (stampDeadline(headers, deadlineNanos(route, request))) {
+            return true;
+        }
+        rejectPastDeadline(route);
+        return false;
+    }
+
+    /**
+     * @return when ({@link System#nanoTime()}) the route's timeout runs out for the request,
+     * or the client's own deadline if that is sooner
+     */
+    public long deadlineNanos(GatewayRouteConfig.Route route, HttpServletRequest request) {
+        long now = System.nanoTime();
+        Duration timeout = route.getTimeout() != null ? route.getTimeout() : defaultTimeout;
+        long start = request != null && request.getAttribute(ARRIVAL_ATTRIBUTE) instanceof Long arrival ? arrival : now;
+        long deadline = start + timeout.toNanos();
+        Duration clientRemaining = DeadlineContext.remaining();
+        if (clientRemaining != null && clientRemaining.toNanos() < deadline - now) {
+            deadline = now + clientRemaining.toNanos();
+        }
+        return deadline;
+    }
+
+    /**
+     * Sets {@link DeadlineContext#HEADER} to what is left until the deadline. Called again for each
+     * retry or hedge so later attempts do not pass on time that has already been used up.
+     *
+     * @return false if nothing is left, the request must not be sent
+     */
+    public static boolean stampDeadline(HttpHeaders headers, long deadlineNanos) {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        if (remainingMillis <= 0) {
+            return false;
+        }
+        headers.set(DeadlineContext.HEADER, Long.toString(remainingMillis));
+        return true;
+    }
+
+    /**
+     * @return a copy of the entity stamped for an attempt sent now, or null if the deadline has passed
+     */
+    public static HttpEntity<?> withDeadline(HttpEntity<?> entity, long deadlineNanos) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(entity.getHeaders());
+        return stampDeadline(headers, deadlineNanos) ? new HttpEntity<>(entity.getBody(), headers) : null;
+    }
+
+    /**
+     * Counts a request dropped because its deadline passed before it could be forwarded.
+     */
+    public void rejectPastDeadline(GatewayRouteConfig.Route route) {
+        reject(route.getPriority(), "deadline");
+    }
+
+    private void reject(GatewayRouteConfig.Priority priority, String reason) {
+        meterRegistry.counter("gateway.shedding.rejected", "priority", priority.name(), "reason", reason).increment();
+    }
+
+    /**
+     * Time the request spent in front of the gateway according to X-Request-Start,
+     * as set by nginx ("t=" seconds with millis) or other proxies (epoch millis or micros).
+     */
+    private long upstreamWaitNanos(HttpServletRequest request) {
+        String header = request.getHeader(REQUEST_START_HEADER);
+        if (header == null || header.isBlank()) {
+            return 0;
+        }
+        String value = header.trim();
+        if (value.startsWith("t=")) {
+            value = value.substring(2);
+        }
+        try {
+            long startMicros;
+            if (value.contains(".")) {
+                startMicros = (long) (Double.parseDouble(value) * 1_000_000);
+            } else {
+                long number = Long.parseLong(value);
+                if (number > 100_000_000_000_000L) {
+                    startMicros = number;
+                } else if (number > 100_000_000_000L) {
+                    startMicros = number * 1_000;
+                } else {
+                    startMicros = number * 1_000_000;
+                }
+            }
+            long waitMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis()) - startMicros;
+            // Clocks of the proxy and the gateway differ slightly, ignore anything implausible
+            return waitMicros > 0 && waitMicros < TimeUnit.MINUTES.toMicros(10) ? TimeUnit.MICROSECONDS.toNanos(waitMicros) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public static final class Admission {
+        private final AtomicInteger inFlight;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Admission(AtomicInteger inFlight) {
+            this.inFlight = inFlight;
+        }
+
+        public void release() {
+            if (inFlight != null && released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Verifies the signature and expiry of JWTs issued by service-authentication
+ * without leaving the gateway. Uses the same HMAC secret as TokenAuthenticationService.
+ */
+@Slf4j
+@Component
+public class LocalTokenVerifier {
+
+    public enum Outcome {
+        /** Signature and expiry are valid */
+        VALID,
+        /** Token is malformed or expired */
+        INVALID,
+        /** Token was not signed with the key known to the gateway */
+        UNKNOWN_KEY
+    }
+
+    public record Verification(Outcome outcome, Claims claims) {
+    }
+
+    private final boolean enabled;
+    private final JwtParser jwtParser;
+
+    public LocalTokenVerifier(GatewayRouteConfig gatewayRouteConfig) {
+        GatewayRouteConfig.LocalVerification config = gatewayRouteConfig.getOauth2() != null
+            ? gatewayRouteConfig.getOauth2().getLocalVerification()
+            : null;
+
+        if (config != null && config.isEnabled() && StringUtils.hasText(config.getSecret())) {
+            this.jwtParser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(config.getSecret().getBytes(StandardCharsets.UTF_8)))
+                .build();
+            this.enabled = true;
+        } else {
+            if (config != null && config.isEnabled()) {
+                log.warn("Local token verification is enabled but no secret is configured, using validation endpoint only");
+            }
+            this.jwtParser = null;
+            this.enabled = false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Verification verify(String token) {
+        if (!enabled) {
+            return new Verification(Outcome.UNKNOWN_KEY, null);
+        }
+
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            return new Verification(Outcome.VALID, claims);
+        } catch (SecurityException e) {
+            log.debug("Token signature not verifiable with local key: {}", e.getMessage());
+            return new Verification(Outcome.UNKNOWN_KEY, null);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token rejected by local verification: {}", e.getMessage());
+            return new Verification(Outcome.INVALID, null);
+        }
+    }
+}
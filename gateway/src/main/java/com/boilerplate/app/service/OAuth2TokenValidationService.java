@@ -1,6 +1,11 @@
 package com.boilerplate.app.service;
 
 import com.boilerplate.app.config.GatewayRouteConfig;
+import com.boilerplate.app.model.TokenValidationResult;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
@@ -8,12 +13,21 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Service for validating OAuth2 tokens.
- * Validates tokens by calling the authentication service.
+ * Verifies tokens locally when a signing key is configured and calls the
+ * authentication service for revocation checks or tokens signed with an unknown key.
+ * Results are cached per token, see {@link TokenValidationCache}, and concurrent
+ * validations of the same token are coalesced into a single call.
  */
 @Slf4j
 @Service
@@ -21,15 +35,80 @@ import java.util.Map;
 public class OAuth2TokenValidationService {
     private final RestTemplate restTemplate;
     private final GatewayRouteConfig gatewayRouteConfig;
+    private final LocalTokenVerifier localTokenVerifier;
+    private final TokenValidationCache validationCache;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentMap<String, CompletableFuture<TokenValidationResult>> inFlight = new ConcurrentHashMap<>();
 
     public boolean validate(String token) {
-        String validationEndpoint = gatewayRouteConfig.getOauth2() != null 
-            ? gatewayRouteConfig.getOauth2().getValidationEndpoint() 
+        return validateToken(token).valid();
+    }
+
+    /**
+     * @return the validation outcome with the token's claims if it is valid
+     */
+    public TokenValidationResult validateToken(String token) {
+        String key = validationCache.key(token);
+        TokenValidationResult cached = validationCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return validateOnce(key, token);
+    }
+
+    /**
+     * Runs at most one validation per token at a time. Concurrent callers for the
+     * same token wait for the pending validation and share its result.
+     */
+    private TokenValidationResult validateOnce(String key, String token) {
+        CompletableFuture<TokenValidationResult> pending = new CompletableFuture<>();
+        CompletableFuture<TokenValidationResult> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            meterRegistry.counter("gateway.token.validation.coalesced").increment();
+            return existing.join();
+        }
+
+        TokenValidationResult result = TokenValidationResult.unavailable();
+        try {
+            result = doValidate(token);
+            // Populate the cache before releasing the key so late arrivals hit the cache
+            validationCache.put(key, result);
+            return result;
+        } finally {
+            pending.complete(result);
+            inFlight.remove(key, pending);
+        }
+    }
+
+    private TokenValidationResult doValidate(String token) {
+        if (localTokenVerifier.isEnabled()) {
+            LocalTokenVerifier.Verification verification = localTokenVerifier.verify(token);
+            switch (verification.outcome()) {
+                case INVALID:
+                    return TokenValidationResult.invalid();
+                case VALID:
+                    if (!gatewayRouteConfig.getOauth2().getLocalVerification().isRevocationCheck()) {
+                        return toResult(verification.claims());
+                    }
+                    break;
+                case UNKNOWN_KEY:
+                    log.debug("Token signed with unknown key, falling back to validation endpoint");
+                    break;
+            }
+        }
+
+        return validateRemotely(token);
+    }
+
+    private TokenValidationResult validateRemotely(String token) {
+        String validationEndpoint = gatewayRouteConfig.getOauth2() != null
+            ? gatewayRouteConfig.getOauth2().getValidationEndpoint()
             : null;
-        
+
         if (validationEndpoint == null || validationEndpoint.isEmpty()) {
             log.error("Token validation endpoint not configured");
-            return false;
+            return TokenValidationResult.unavailable();
         }
 
         try {
@@ -49,13 +128,42 @@ public class OAuth2TokenValidationService {
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 Boolean valid = (Boolean) response.getBody().get("valid");
-                return Boolean.TRUE.equals(valid);
+                return Boolean.TRUE.equals(valid) ? toResult(decodeClaims(token)) : TokenValidationResult.invalid();
             }
 
-            return false;
+            return TokenValidationResult.unavailable();
         } catch (Exception e) {
             log.error("Error validating token: {}", e.getMessage());
-            return false;
+            return TokenValidationResult.unavailable();
+        }
+    }
+
+    private TokenValidationResult toResult(Map<String, Object> claims) {
+        Instant expiresAt = null;
+        Object exp = claims.get(Claims.EXPIRATION);
+        if (exp instanceof Date date) {
+            expiresAt = date.toInstant();
+        } else if (exp instanceof Number seconds) {
+            expiresAt = Instant.ofEpochSecond(seconds.longValue());
+        }
+        return TokenValidationResult.valid(expiresAt, claims);
+    }
+
+    /**
+     * Reads the payload of a token the authentication service has already accepted.
+     * The signature is not checked here.
+     */
+    private Map<String, Object> decodeClaims(String token) {
+        try {
+            String[] parts = token.split("\\.");
+            if (parts.length < 2) {
+                return Map.of();
+            }
+            byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+            return objectMapper.readValue(payload, new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            log.debug("Unable to decode token claims: {}", e.getMessage());
+            return Map.of();
         }
     }
 }
@@ -0,0 +1,54 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.base.model.PartnerContext;
+import com.boilerplate.app.base.util.PartnerContextCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Signs the X-Partner-Context header forwarded to backend services, see {@link PartnerContextCodec}.
+ *
+ * A signed context expires with the partner's token, and at the latest max-age after it was signed,
+ * so a leaked header is only usable briefly. Calls made later on the partner's behalf (background
+ * refreshes of stale responses) sign the context again instead of reusing an old header.
+ */
+@Slf4j
+@Component
+public class PartnerContextSigner {
+    /** Forwarded contexts expire with the token, and at the latest this long after they are signed */
+    static final Duration MAX_AGE = Duration.ofMinutes(5);
+
+    private final PartnerContextCodec partnerContextCodec;
+
+    public PartnerContextSigner(ObjectProvider<PartnerContextCodec> partnerContextCodec) {
+        this.partnerContextCodec = partnerContextCodec.getIfAvailable();
+        if (this.partnerContextCodec == null) {
+            log.warn("partner-context.secret is not set, no partner context is forwarded to backend services");
+        }
+    }
+
+    /**
+     * @param partner the verified partner, expiring with its token (null if the token's expiry is unknown)
+     * @return the header value, or null if no secret is configured or the partner's token has expired
+     */
+    public String sign(PartnerContext partner) {
+        if (partnerContextCodec == null) {
+            return null;
+        }
+        Instant now = Instant.now();
+        if (partner.expiresAt() != null && partner.isExpired(now)) {
+            return null;
+        }
+        Instant latest = now.plus(MAX_AGE);
+        Instant expiresAt = partner.expiresAt() != null && partner.expiresAt().isBefore(latest)
+            ? partner.expiresAt()
+            : latest;
+        return partnerContextCodec.encode(new PartnerContext(
+            partner.partnerId(), partner.internalPartnerId(), partner.externalPartnerId(), expiresAt
+        ));
+    }
+}
@@ -0,0 +1,160 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Non-blocking counterpart of {@link GatewayService#routeRequest}, used when gateway.engine=reactive.
+ * The upstream call runs on Reactor Netty and the servlet thread is released while it is in flight.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "gateway.engine", havingValue = "reactive")
+public class ReactiveGatewayService {
+    private final WebClient webClient;
+    private final ServiceResilienceRegistry resilienceRegistry;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final HttpResponseCache responseCache;
+    private final LoadShedder loadShedder;
+    private final StaleResponseStore staleResponseStore;
+
+    public ReactiveGatewayService(
+        WebClient.Builder loadBalancedWebClientBuilder,
+        ServiceResilienceRegistry resilienceRegistry,
+        AdaptiveConcurrencyLimiter concurrencyLimiter,
+        HttpResponseCache responseCache,
+        LoadShedder loadShedder,
+        StaleResponseStore staleResponseStore
+    ) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.resilienceRegistry = resilienceRegistry;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.responseCache = responseCache;
+        this.loadShedder = loadShedder;
+        this.staleResponseStore = staleResponseStore;
+    }
+
+    public Mono<ResponseEntity<String>> routeRequest(
+        GatewayRouteConfig.Route route,
+        String path,
+        HttpMethod method,
+        HttpHeaders headers,
+        String body,
+        HttpServletRequest request
+    ) {
+        String serviceId = route.getService();
+        HttpResponseCache.Key cacheKey = responseCache.keyFor(route, method, request);
+        HttpResponseCache.Entry cached = cacheKey != null ? responseCache.get(cacheKey) : null;
+        if (cached != null && cached.isFresh()) {
+            return Mono.just(cached.toResponse());
+        }
+        String revalidateETag = cached != null ? cached.eTag() : null;
+
+        if (loadShedder.isPastQueueDeadline(route, request)) {
+            return Mono.just(GatewayService.fallbackResponse(serviceId, "Request waited too long to be forwarded."));
+        }
+
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.tryAcquire(serviceId);
+        if (permit == null) {
+            return Mono.just(GatewayService.fallbackResponse(serviceId, "Concurrency limit reached. Service is temporarily unavailable."));
+        }
+
+        // Read everything needed from the request up front, it must not be touched once the call is async
+        URI targetUri = buildUri(serviceId, path, request.getQueryString());
+        StaleResponseStore.Snapshot staleSnapshot = staleResponseStore.capture(route, path, method, headers, request);
+        HttpHeaders requestHeaders = GatewayService.copyHeaders(headers, request);
+        if (!loadShedder.stampDeadline(route, request, requestHeaders)) {
+            permit.onIgnore();
+            return Mono.just(GatewayService.deadlineExceededResponse(serviceId));
+        }
+        if (revalidateETag != null) {
+            requestHeaders.setIfNoneMatch(revalidateETag);
+            requestHeaders.remove(HttpHeaders.IF_MODIFIED_SINCE);
+        }
+        HttpMethod httpMethod = method != null ? method : HttpMethod.GET;
+        log.debug("Routing {} {} to service {} at {}", httpMethod, path, serviceId, targetUri);
+
+        WebClient.RequestBodySpec spec = webClient.method(httpMethod)
+            .uri(targetUri)
+            .headers(h -> h.addAll(requestHeaders));
+        WebClient.RequestHeadersSpec<?> exchange = body != null ? spec.bodyValue(body) : spec;
+
+        return exchange
+            .exchangeToMono(response -> response.toEntity(String.class))
+            .map(response -> ResponseEntity
+                .status(response.getStatusCode())
+                .headers(GatewayService.filterResponseHeaders(response.getHeaders()))
+                .body(response.getBody()))
+            .map(response -> {
+                ResponseEntity<String> result = response;
+                if (revalidateETag != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                    result = responseCache.revalidated(cacheKey, cached, route, response);
+                } else if (cacheKey != null) {
+                    responseCache.put(cacheKey, route, response);
+                }
+                if (staleSnapshot != null) {
+                    staleResponseStore.put(staleSnapshot, result);
+                }
+                return result;
+            })
+            .doFinally(signal -> permit.onComplete())
+            .transformDeferred(CircuitBreakerOperator.of(resilienceRegistry.circuitBreaker(serviceId)))
+            .transformDeferred(BulkheadOperator.of(resilienceRegistry.bulkhead(serviceId)))
+            .onErrorResume(e -> {
+                // Rejected by the breaker or bulkhead, the upstream call was never subscribed
+                if (e instanceof CallNotPermittedException || e instanceof BulkheadFullException) {
+                    permit.onIgnore();
+                }
+                ResponseEntity<String> stale = staleSnapshot != null && !(e instanceof BulkheadFullException)
+                    ? staleResponseStore.serveStale(staleSnapshot)
+                    : null;
+                return Mono.just(stale != null ? stale : handleException(serviceId, e));
+            });
+    }
+
+    private URI buildUri(String serviceId, String path, String queryString) {
+        String pathValue = path != null ? path : "";
+        if (queryString != null && !queryString.isEmpty()) {
+            pathValue += "?" + queryString;
+        }
+        return URI.create("http://" + serviceId + pathValue);
+    }
+
+    private ResponseEntity<String> handleException(String serviceId, Throwable e) {
+        if (e instanceof CallNotPermittedException) {
+            log.warn("Circuit breaker is OPEN for service {}: {}", serviceId, e.getMessage());
+            return GatewayService.fallbackResponse(serviceId, "Circuit breaker is open. Service is temporarily unavailable.");
+        }
+        if (e instanceof BulkheadFullException) {
+            log.warn("Bulkhead is full for service {}: {}", serviceId, e.getMessage());
+            return GatewayService.fallbackResponse(serviceId, "Too many concurrent requests. Service is temporarily unavailable.");
+        }
+        if (e instanceof WebClientRequestException) {
+            log.error("Connection error routing to service {}: {}", serviceId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"error\":\"Service unavailable\",\"message\":\"Connection failed to service " + serviceId + "\"}");
+        }
+        log.error("Unexpected error routing to service {}: {}", serviceId, e.getMessage(), e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body("{\"error\":\"Gateway error\",\"message\":\"" + e.getMessage() + "\"}");
+    }
+}
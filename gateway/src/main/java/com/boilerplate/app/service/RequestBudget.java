@@ -0,0 +1,40 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that bounds extra requests (hedges, retries) to a fraction of normal traffic.
+ * Every routed request deposits {@code ratio} of a token, every extra request withdraws a whole one.
+ * The balance starts at and is capped by {@code reserve}, so a quiet period cannot bank credit
+ * for a burst of extra requests later.
+ */
+public class RequestBudget {
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    public RequestBudget(GatewayRouteConfig.Budget config) {
+        this.deposit = Math.round(config.getRatio() * SCALE);
+        this.capacity = (long) config.getReserve() * SCALE;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    public void deposit() {
+        balance.accumulateAndGet(deposit, (current, amount) -> Math.min(capacity, current + amount));
+    }
+
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+}
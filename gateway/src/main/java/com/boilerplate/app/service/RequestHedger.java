@@ -0,0 +1,215 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends a second request to a different instance when the first one has not answered
+ * within the route's latency percentile. The first response wins, the other attempt is
+ * cancelled by interrupting its virtual thread, which closes its socket.
+ *
+ * Hedges are only sent while {@code gateway.hedge-budget} has credit, so they add at most
+ * budget ratio extra load however slow the backend gets. Until the route has enough latency
+ * samples, or when the service has a single instance, the request is sent on the caller's thread.
+ */
+@Slf4j
+@Component
+public class RequestHedger {
+    /** Latency samples kept per route for the percentile */
+    private static final int WINDOW_SIZE = 1024;
+    /** Samples needed before the percentile is trusted */
+    private static final int MIN_SAMPLES = 100;
+    private static final long REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ServiceInstanceClient instanceClient;
+    private final MeterRegistry meterRegistry;
+    private final RequestBudget budget;
+    private final ExecutorService executor;
+    /** Weak keys so routes replaced by a reload are dropped with their window */
+    private final Cache<GatewayRouteConfig.Route, LatencyWindow> latencies = Caffeine.newBuilder().weakKeys().build();
+
+    public RequestHedger(ServiceInstanceClient instanceClient, GatewayRouteConfig gatewayRouteConfig, MeterRegistry meterRegistry) {
+        this.instanceClient = instanceClient;
+        this.meterRegistry = meterRegistry;
+        this.budget = new RequestBudget(gatewayRouteConfig.getHedgeBudget());
+        // Attempts run on their own virtual threads; carry the trace context over so traceparent is still sent
+        this.executor = ContextExecutorService.wrap(
+            Executors.newVirtualThreadPerTaskExecutor(),
+            ContextSnapshotFactory.builder().build()::captureAll
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public boolean appliesTo(GatewayRouteConfig.Route route, HttpMethod method) {
+        return route.getHedge() != null && route.getHedge().isEnabled()
+            && (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method));
+    }
+
+    /**
+     * Exchanges the request with one instance of the route's service, hedging to a second
+     * instance if needed. Error responses are thrown as by {@link ServiceInstanceClient#exchange}.
+     */
+    public ResponseEntity<String> exchange(
+        GatewayRouteConfig.Route route,
+        String pathValue,
+        HttpMethod method,
+        HttpEntity<?> entity,
+        long deadlineNanos
+    ) {
+        String serviceId = route.getService();
+        budget.deposit();
+
+        ServiceInstance primaryInstance = instanceClient.choose(serviceId);
+
+        LatencyWindow window = latencies.get(route, r -> new LatencyWindow());
+        long hedgeDelayNanos = window.hedgeDelayNanos(route.getHedge());
+        ServiceInstance hedgeInstance = hedgeDelayNanos != Long.MAX_VALUE
+            ? instanceClient.chooseOther(serviceId, List.of(primaryInstance))
+            : null;
+        long start = System.nanoTime();
+        if (hedgeInstance == null) {
+            // No hedge can be sent, so there is nothing to race and no need for a thread of its own
+            ResponseEntity<String> response = instanceClient.exchange(primaryInstance, serviceId, pathValue, method, entity);
+            window.record(System.nanoTime() - start);
+            return response;
+        }
+
+        ExecutorCompletionService<ResponseEntity<String>> attempts = new ExecutorCompletionService<>(executor);
+        Future<ResponseEntity<String>> primary = attempts.submit(
+            () -> instanceClient.exchange(primaryInstance, serviceId, pathValue, method, entity));
+        Future<ResponseEntity<String>> hedge = null;
+
+        try {
+            Future<ResponseEntity<String>> first = attempts.poll(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+            if (first == null) {
+                hedge = sendHedge(attempts, route, primaryInstance, hedgeInstance, pathValue, method, entity, deadlineNanos);
+                first = attempts.take();
+            }
+
+            ResponseEntity<String> response = resultOf(first, hedge, attempts, serviceId);
+            window.record(System.nanoTime() - start);
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + serviceId, e);
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    private Future<ResponseEntity<String>> sendHedge(
+        ExecutorCompletionService<ResponseEntity<String>> attempts,
+        GatewayRouteConfig.Route route,
+        ServiceInstance primaryInstance,
+        ServiceInstance hedgeInstance,
+        String pathValue,
+        HttpMethod method,
+        HttpEntity<?> entity,
+        long deadlineNanos
+    ) {
+        String serviceId = route.getService();
+        // The hedge starts late, it only gets what is left of the deadline
+        HttpEntity<?> hedgeEntity = LoadShedder.withDeadline(entity, deadlineNanos);
+        if (hedgeEntity == null) {
+            meterRegistry.counter("gateway.hedge.skipped", "service", serviceId, "reason", "deadline").increment();
+            return null;
+        }
+        if (!budget.tryWithdraw()) {
+            meterRegistry.counter("gateway.hedge.skipped", "service", serviceId, "reason", "budget").increment();
+            return null;
+        }
+        log.debug("Hedging {} {} to {} after slow response from {}", method, pathValue,
+            hedgeInstance.getInstanceId(), primaryInstance.getInstanceId());
+        return attempts.submit(() -> instanceClient.exchange(hedgeInstance, serviceId, pathValue, method, hedgeEntity));
+    }
+
+    /**
+     * Returns the first response. A failed attempt that produced no response at all
+     * (connection refused, reset) gives way to the other attempt if one is still running.
+     */
+    private ResponseEntity<String> resultOf(
+        Future<ResponseEntity<String>> first,
+        Future<ResponseEntity<String>> hedge,
+        ExecutorCompletionService<ResponseEntity<String>> attempts,
+        String serviceId
+    ) throws InterruptedException {
+        Future<ResponseEntity<String>> done = first;
+        int pending = hedge != null ? 1 : 0;
+        while (true) {
+            try {
+                ResponseEntity<String> response = done.get();
+                if (hedge != null) {
+                    meterRegistry.counter("gateway.hedge.requests", "service", serviceId,
+                        "winner", done == hedge ? "hedge" : "primary").increment();
+                }
+                return response;
+            } catch (ExecutionException e) {
+                if (pending == 0 || e.getCause() instanceof RestClientResponseException) {
+                    throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+                }
+                pending--;
+                done = attempts.take();
+            }
+        }
+    }
+
+    /**
+     * Recent latencies of one route, used to derive the hedge delay.
+     */
+    private static final class LatencyWindow {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile long delayNanos = -1;
+        private volatile long refreshedAt;
+
+        private void record(long nanos) {
+            samples[Math.floorMod(count.getAndIncrement(), WINDOW_SIZE)] = nanos;
+        }
+
+        private long hedgeDelayNanos(GatewayRouteConfig.Hedge config) {
+            int recorded = count.get();
+            if (recorded < MIN_SAMPLES) {
+                // Not enough data yet, do not hedge
+                return Long.MAX_VALUE;
+            }
+            long now = System.nanoTime();
+            if (delayNanos < 0 || now - refreshedAt > REFRESH_INTERVAL_NANOS) {
+                long[] sorted = Arrays.copyOf(samples, Math.min(recorded, WINDOW_SIZE));
+                Arrays.sort(sorted);
+                int index = (int) Math.min(sorted.length - 1, Math.ceil(config.getPercentile() * sorted.length) - 1);
+                delayNanos = Math.max(config.getMinDelay().toNanos(), sorted[Math.max(0, index)]);
+                refreshedAt = now;
+            }
+            return delayNanos;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.core5.http.NoHttpResponseException;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries idempotent requests on another instance when the connection to the first one fails
+ * (refused, reset, closed without response), which is what a rolling deploy looks like from the gateway.
+ * Timeouts are not retried: the backend may still be working on the request.
+ *
+ * Waits a random backoff between zero and an exponentially growing cap before each retry, and
+ * only retries while {@code gateway.retry-budget} has credit so retries cannot multiply load
+ * during an outage.
+ */
+@Slf4j
+@Component
+public class RequestRetrier {
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(
+        HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE
+    );
+
+    private final ServiceInstanceClient instanceClient;
+    private final MeterRegistry meterRegistry;
+    private final RequestBudget budget;
+
+    public RequestRetrier(ServiceInstanceClient instanceClient, GatewayRouteConfig gatewayRouteConfig, MeterRegistry meterRegistry) {
+        this.instanceClient = instanceClient;
+        this.meterRegistry = meterRegistry;
+        this.budget = new RequestBudget(gatewayRouteConfig.getRetryBudget());
+    }
+
+    public boolean appliesTo(GatewayRouteConfig.Route route, HttpMethod method) {
+        return route.getRetry() != null && route.getRetry().isEnabled() && IDEMPOTENT_METHODS.contains(method);
+    }
+
+    /**
+     * Same contract as {@link ServiceInstanceClient#exchange}, with retries on connection failures.
+     * Retries carry what is left until the deadline, and are not sent once it has passed.
+     *
+     * @param deadlineNanos see {@link LoadShedder#deadlineNanos}
+     */
+    public ResponseEntity<String> exchange(
+        GatewayRouteConfig.Route route,
+        String pathValue,
+        HttpMethod method,
+        HttpEntity<?> entity,
+        long deadlineNanos
+    ) {
+        String serviceId = route.getService();
+        GatewayRouteConfig.Retry config = route.getRetry();
+        budget.deposit();
+
+        List<ServiceInstance> tried = new ArrayList<>();
+        ServiceInstance instance = instanceClient.choose(serviceId);
+        HttpEntity<?> attemptEntity = entity;
+        for (int attempt = 1; ; attempt++) {
+            tried.add(instance);
+            try {
+                return instanceClient.exchange(instance, serviceId, pathValue, method, attemptEntity);
+            } catch (ResourceAccessException e) {
+                if (attempt >= config.getMaxAttempts() || !isConnectionFailure(e)) {
+                    throw e;
+                }
+                if (!budget.tryWithdraw()) {
+                    meterRegistry.counter("gateway.retry.skipped", "service", serviceId, "reason", "budget").increment();
+                    throw e;
+                }
+
+                ServiceInstance next = instanceClient.chooseOther(serviceId, tried);
+                backoff(config, attempt);
+                attemptEntity = LoadShedder.withDeadline(entity, deadlineNanos);
+                if (attemptEntity == null) {
+                    meterRegistry.counter("gateway.retry.skipped", "service", serviceId, "reason", "deadline").increment();
+                    throw e;
+                }
+                log.debug("Retrying {} {} on {} after connection failure on {}: {}", method, pathValue,
+                    next != null ? next.getInstanceId() : "same instance", instance.getInstanceId(), e.getMessage());
+                meterRegistry.counter("gateway.retry.requests", "service", serviceId).increment();
+                if (next != null) {
+                    instance = next;
+                }
+            }
+        }
+    }
+
+    private boolean isConnectionFailure(ResourceAccessException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof ConnectTimeoutException) {
+            // Never connected, so the request was not sent
+            return true;
+        }
+        if (cause instanceof SocketTimeoutException) {
+            return false;
+        }
+        return cause instanceof ConnectException
+            || cause instanceof NoRouteToHostException
+            || cause instanceof NoHttpResponseException
+            || cause instanceof SocketException;
+    }
+
+    private void backoff(GatewayRouteConfig.Retry config, int attempt) {
+        long cap = Math.min(
+            config.getMaxBackoff().toMillis(),
+            config.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20)
+        );
+        if (cap <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during retry backoff", e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * gzip and deflate encoding of response bodies.
+ * Deflaters hold native zlib buffers that are expensive to allocate per response, so
+ * raw (nowrap) Deflaters are pooled and the gzip or zlib framing is written around their output.
+ */
+@Component
+public class ResponseCompressor {
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int CHUNK_SIZE = 8192;
+
+    private final int level;
+    private final BlockingQueue<Deflater> pool;
+
+    public ResponseCompressor(GatewayRouteConfig gatewayRouteConfig) {
+        GatewayRouteConfig.Compression config = gatewayRouteConfig.getCompression();
+        this.level = config.getLevel();
+        this.pool = new ArrayBlockingQueue<>(Math.max(1, config.getPoolSize()));
+    }
+
+    /**
+     * Picks the encoding for an Accept-Encoding header, preferring gzip.
+     *
+     * @return {@link #GZIP}, {@link #DEFLATE} or null if the client accepts neither
+     */
+    public String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        Double gzip = null;
+        Double deflate = null;
+        double wildcard = 0;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double quality = qualityOf(tokens);
+            switch (coding) {
+                case GZIP, "x-gzip" -> gzip = quality;
+                case DEFLATE -> deflate = quality;
+                case "*" -> wildcard = quality;
+                default -> { }
+            }
+        }
+        // "*" covers the codings the client did not list
+        if (gzip == null) {
+            gzip = wildcard;
+        }
+        if (deflate == null) {
+            deflate = wildcard;
+        }
+        if (gzip > 0 && gzip >= deflate) {
+            return GZIP;
+        }
+        return deflate > 0 ? DEFLATE : null;
+    }
+
+    public byte[] compress(byte[] body, String encoding) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        if (GZIP.equals(encoding)) {
+            out.writeBytes(GZIP_HEADER);
+            deflate(body, out);
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            writeIntLittleEndian(out, (int) crc.getValue());
+            writeIntLittleEndian(out, body.length);
+        } else if (DEFLATE.equals(encoding)) {
+            // zlib header for the default window size and compression level
+            out.write(0x78);
+            out.write(0x9c);
+            deflate(body, out);
+            Adler32 adler = new Adler32();
+            adler.update(body);
+            writeIntBigEndian(out, (int) adler.getValue());
+        } else {
+            throw new IllegalArgumentException("Unsupported encoding: " + encoding);
+        }
+        return out.toByteArray();
+    }
+
+    private void deflate(byte[] body, ByteArrayOutputStream out) {
+        Deflater deflater = pool.poll();
+        if (deflater == null) {
+            deflater = new Deflater(level, true);
+        }
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            byte[] chunk = new byte[CHUNK_SIZE];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(chunk);
+                out.write(chunk, 0, length);
+            }
+        } finally {
+            deflater.reset();
+            if (!pool.offer(deflater)) {
+                deflater.end();
+            }
+        }
+    }
+
+    private static double qualityOf(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String param = tokens[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static void writeIntLittleEndian(ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+
+    private static void writeIntBigEndian(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+}
@@ -0,0 +1,103 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.loadbalancer.ExcludedInstances;
+import com.boilerplate.app.loadbalancer.InstanceLoadStats;
+import com.boilerplate.app.loadbalancer.OutlierDetector;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Calls a specific instance of a service, for features that need to control which instance
+ * receives a request (hedging, retrying on another instance).
+ * Instances are still chosen by the load balancer, and calls are recorded in
+ * {@link InstanceLoadStats} like those made through the @LoadBalanced RestTemplate.
+ */
+@Component
+public class ServiceInstanceClient {
+    private static final int CHOOSE_ATTEMPTS = 3;
+
+    private final RestTemplate instanceRestTemplate;
+    private final LoadBalancerClient loadBalancerClient;
+    private final InstanceLoadStats loadStats;
+    private final OutlierDetector outlierDetector;
+
+    public ServiceInstanceClient(
+        @Qualifier("instanceRestTemplate") RestTemplate instanceRestTemplate,
+        LoadBalancerClient loadBalancerClient,
+        InstanceLoadStats loadStats,
+        OutlierDetector outlierDetector
+    ) {
+        this.instanceRestTemplate = instanceRestTemplate;
+        this.loadBalancerClient = loadBalancerClient;
+        this.loadStats = loadStats;
+        this.outlierDetector = outlierDetector;
+    }
+
+    public ServiceInstance choose(String serviceId) {
+        ServiceInstance instance = loadBalancerClient.choose(serviceId);
+        if (instance == null) {
+            throw new IllegalStateException("No instances available for " + serviceId);
+        }
+        return instance;
+    }
+
+    /**
+     * @return an instance that is not in {@code exclude}, or null if the load balancer keeps
+     * returning excluded ones
+     */
+    public ServiceInstance chooseOther(String serviceId, Collection<ServiceInstance> exclude) {
+        DefaultRequest<ExcludedInstances> request = new DefaultRequest<>(new ExcludedInstances(exclude));
+        // Load balancers other than PeakEwmaLoadBalancer ignore the exclusion, ask them a few times
+        for (int i = 0; i < CHOOSE_ATTEMPTS; i++) {
+            ServiceInstance candidate = loadBalancerClient.choose(serviceId, request);
+            if (candidate != null && exclude.stream().noneMatch(excluded -> sameInstance(candidate, excluded))) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Same contract as {@link RestTemplate#exchange}: error responses are thrown as
+     * {@link org.springframework.web.client.RestClientResponseException}.
+     */
+    public ResponseEntity<String> exchange(
+        ServiceInstance instance,
+        String serviceId,
+        String pathValue,
+        HttpMethod method,
+        HttpEntity<?> entity
+    ) {
+        URI target = loadBalancerClient.reconstructURI(instance, URI.create("http://" + serviceId + pathValue));
+        long start = System.nanoTime();
+        boolean failed = false;
+        loadStats.onStart(instance);
+        try {
+            return instanceRestTemplate.exchange(target, method, entity, String.class);
+        } catch (ResourceAccessException | HttpServerErrorException e) {
+            // A hedge cancelled because the other call won says nothing about this instance
+            failed = !Thread.currentThread().isInterrupted();
+            throw e;
+        } finally {
+            loadStats.onComplete(instance, System.nanoTime() - start, failed);
+            outlierDetector.onComplete(instance, failed);
+        }
+    }
+
+    private static boolean sameInstance(ServiceInstance a, ServiceInstance b) {
+        return Objects.equals(a.getHost(), b.getHost()) && a.getPort() == b.getPort();
+    }
+}
@@ -0,0 +1,30 @@
+package com.boilerplate.app.service;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Circuit breaker and semaphore bulkhead per backend service, named after {@code Route.service}.
+ * Services listed under resilience4j.circuitbreaker.instances / resilience4j.bulkhead.instances
+ * use their own settings, any other service gets the {@code default} config.
+ * Each instance shows up separately in the circuitbreakers/bulkheads actuator endpoints and
+ * in the resilience4j metrics, tagged with name=serviceId.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceResilienceRegistry {
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public CircuitBreaker circuitBreaker(String serviceId) {
+        return circuitBreakerRegistry.circuitBreaker(serviceId);
+    }
+
+    public Bulkhead bulkhead(String serviceId) {
+        return bulkheadRegistry.bulkhead(serviceId);
+    }
+}
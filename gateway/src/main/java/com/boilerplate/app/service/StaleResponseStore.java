@@ -0,0 +1,260 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.base.constant.PartnerContextConstants;
+import com.boilerplate.app.base.constant.TraceConstants;
+import com.boilerplate.app.base.model.PartnerContext;
+import com.boilerplate.app.base.util.DeadlineContext;
+import com.boilerplate.app.config.GatewayRouteConfig;
+import com.boilerplate.app.filter.AuthenticationFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Last good GET response per request of routes with stale-fallback.enabled, served instead of
+ * a 503 while the route's service is down (circuit open or unreachable) so read screens keep working.
+ *
+ * Every 200 from the backend replaces the kept response. Unlike {@link HttpResponseCache} this
+ * ignores max-age: responses are kept for max-staleness whatever their freshness, only no-store
+ * responses and responses setting cookies are never kept. Served responses carry Age and
+ * Warning: 110. While a response is being served stale and is older than refresh-interval, the
+ * request is replayed in the background, so the kept copy catches up as soon as the service is back
+ * without a client request waiting on it. Replays go through the same concurrency limit, bulkhead and
+ * circuit breaker as client requests and carry the route's deadline, so they never add load a client
+ * request would have been refused. They also carry a freshly signed partner context, and stop once the
+ * partner's token has expired.
+ *
+ * Exposes cache.gets/cache.puts/cache.evictions tagged cache=gateway.stale and
+ * gateway.stale.served tagged with the service.
+ */
+@Slf4j
+@Component
+public class StaleResponseStore {
+    private static final String CACHE_NAME = "gateway.stale";
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+    /** Headers that only applied to the original request and must not be replayed */
+    private static final List<String> NON_REPLAYED_HEADERS = List.of(
+        HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE, DeadlineContext.HEADER,
+        TraceConstants.TRACEPARENT_HEADER, TraceConstants.TRACESTATE_HEADER,
+        PartnerContextConstants.PARTNER_CONTEXT_HEADER
+    );
+
+    private final RestTemplate restTemplate;
+    private final ServiceResilienceRegistry resilienceRegistry;
+    private final PartnerContextSigner partnerContextSigner;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final LoadShedder loadShedder;
+    private final MeterRegistry meterRegistry;
+    private final Cache<HttpResponseCache.Key, Entry> cache;
+    private final long refreshIntervalNanos;
+    private final Set<HttpResponseCache.Key> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public StaleResponseStore(
+        RestTemplate restTemplate,
+        ServiceResilienceRegistry resilienceRegistry,
+        PartnerContextSigner partnerContextSigner,
+        AdaptiveConcurrencyLimiter concurrencyLimiter,
+        LoadShedder loadShedder,
+        GatewayRouteConfig gatewayRouteConfig,
+        MeterRegistry meterRegistry
+    ) {
+        this.restTemplate = restTemplate;
+        this.resilienceRegistry = resilienceRegistry;
+        this.partnerContextSigner = partnerContextSigner;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.loadShedder = loadShedder;
+        this.meterRegistry = meterRegistry;
+        GatewayRouteConfig.StaleResponses config = gatewayRouteConfig.getStaleResponses();
+        this.refreshIntervalNanos = config.getRefreshInterval().toNanos();
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(config.getMaximumSize().toBytes())
+            .weigher((HttpResponseCache.Key key, Entry entry) -> HttpResponseCache.weigh(entry.headers(), entry.body()))
+            .expireAfterWrite(config.getMaxStaleness())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Captures what is needed to keep and later replay the request; read up front since the
+     * request must not be touched once the call is async.
+     *
+     * @return the snapshot, or null if the route does not keep stale responses for this request
+     */
+    public Snapshot capture(
+        GatewayRouteConfig.Route route,
+        String path,
+        HttpMethod method,
+        HttpHeaders headers,
+        HttpServletRequest request
+    ) {
+        GatewayRouteConfig.StaleFallback config = route.getStaleFallback();
+        if (config == null || !config.isEnabled() || !HttpMethod.GET.equals(method)) {
+            return null;
+        }
+        List<String> varyValues = new ArrayList<>(config.getVaryHeaders().size());
+        for (String header : config.getVaryHeaders()) {
+            varyValues.add(request.getHeader(header));
+        }
+
+        String pathValue = path != null ? path : "";
+        String queryString = request.getQueryString();
+        if (queryString != null && !queryString.isEmpty()) {
+            pathValue += "?" + queryString;
+        }
+        HttpHeaders replayHeaders = GatewayService.copyHeaders(headers, request);
+        NON_REPLAYED_HEADERS.forEach(replayHeaders::remove);
+        PartnerContext partner = request.getAttribute(AuthenticationFilter.PARTNER_ATTRIBUTE) instanceof PartnerContext verified ? verified : null;
+        return new Snapshot(new HttpResponseCache.Key(request.getRequestURI(), queryString, varyValues), route, pathValue, replayHeaders, partner);
+    }
+
+    /**
+     * Keeps the response if it is a 200 that may be stored.
+     */
+    public void put(Snapshot snapshot, ResponseEntity<String> response) {
+        if (response.getStatusCode().value() != HttpStatus.OK.value() || response.getBody() == null) {
+            return;
+        }
+        HttpHeaders headers = response.getHeaders();
+        if (headers.containsKey(HttpHeaders.SET_COOKIE) || isNoStore(headers.getCacheControl())) {
+            return;
+        }
+        HttpHeaders kept = new HttpHeaders();
+        kept.addAll(headers);
+        kept.remove(HttpHeaders.AGE);
+        cache.put(snapshot.key(), new Entry(kept, response.getBody(), System.nanoTime()));
+    }
+
+    /**
+     * @return the last good response with Age and Warning headers, or null if there is none
+     */
+    public ResponseEntity<String> serveStale(Snapshot snapshot) {
+        Entry entry = cache.getIfPresent(snapshot.key());
+        if (entry == null) {
+            return null;
+        }
+        String serviceId = snapshot.route().getService();
+        meterRegistry.counter("gateway.stale.served", "service", serviceId).increment();
+        log.debug("Serving stale response for {} while {} is unavailable", snapshot.key().path(), serviceId);
+
+        long ageNanos = System.nanoTime() - entry.storedAtNanos();
+        if (ageNanos > refreshIntervalNanos && refreshing.add(snapshot.key())) {
+            executor.execute(() -> refresh(snapshot));
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(entry.headers());
+        headers.set(HttpHeaders.AGE, Long.toString(Duration.ofNanos(ageNanos).toSeconds()));
+        headers.set(HttpHeaders.WARNING, STALE_WARNING);
+        return ResponseEntity.status(HttpStatus.OK).headers(headers).body(entry.body());
+    }
+
+    private void refresh(Snapshot snapshot) {
+        String serviceId = snapshot.route().getService();
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.addAll(snapshot.headers());
+            if (snapshot.partner() != null) {
+                String partnerContext = partnerContextSigner.sign(snapshot.partner());
+                if (partnerContext == null) {
+                    log.debug("Not refreshing {}, the partner's token has expired", snapshot.key().path());
+                    return;
+                }
+                headers.set(PartnerContextConstants.PARTNER_CONTEXT_HEADER, partnerContext);
+            }
+            // No client deadline to inherit, the replay gets the route's full timeout
+            if (!LoadShedder.stampDeadline(headers, loadShedder.deadlineNanos(snapshot.route(), null))) {
+                return;
+            }
+            AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.tryAcquire(serviceId);
+            if (permit == null) {
+                log.debug("Not refreshing {}, {} is at its concurrency limit", snapshot.key().path(), serviceId);
+                return;
+            }
+
+            Supplier<ResponseEntity<String>> supplier = () -> {
+                try {
+                    return restTemplate.exchange(
+                        "http://" + serviceId + snapshot.pathValue(),
+                        HttpMethod.GET,
+                        new HttpEntity<>(headers),
+                        String.class
+                    );
+                } finally {
+                    permit.onComplete();
+                }
+            };
+            supplier = CircuitBreaker.decorateSupplier(resilienceRegistry.circuitBreaker(serviceId), supplier);
+            supplier = Bulkhead.decorateSupplier(resilienceRegistry.bulkhead(serviceId), supplier);
+
+            ResponseEntity<String> response;
+            try {
+                response = supplier.get();
+            } catch (CallNotPermittedException | BulkheadFullException e) {
+                permit.onIgnore();
+                throw e;
+            }
+            put(snapshot, ResponseEntity.status(response.getStatusCode())
+                .headers(GatewayService.filterResponseHeaders(response.getHeaders()))
+                .body(response.getBody()));
+            log.debug("Refreshed stale response for {}", snapshot.key().path());
+        } catch (Exception e) {
+            // Still down, the breaker is still open or the service is busy, the next stale hit tries again
+            log.debug("Background refresh of {} failed: {}", snapshot.key().path(), e.getMessage());
+        } finally {
+            refreshing.remove(snapshot.key());
+        }
+    }
+
+    private static boolean isNoStore(String cacheControl) {
+        return cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-store");
+    }
+
+    /**
+     * A request of a stale-fallback route: its key, and what is needed to replay it in the background.
+     *
+     * @param partner the verified partner to sign a new partner context for, or null
+     */
+    public record Snapshot(
+        HttpResponseCache.Key key,
+        GatewayRouteConfig.Route route,
+        String pathValue,
+        HttpHeaders headers,
+        PartnerContext partner
+    ) {
+    }
+
+    private record Entry(HttpHeaders headers, String body, long storedAtNanos) {
+    }
+}
@@ -0,0 +1,248 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import com.boilerplate.app.config.TracePropagationInterceptor;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pass-through proxy for routes marked as streaming.
+ * The servlet input stream is piped to the backend and the backend response is piped
+ * back to the client through a fixed-size buffer, so memory per request stays constant
+ * regardless of payload size.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StreamingProxyService {
+    private static final byte[] NO_BODY = new byte[0];
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+        "host", "connection", "transfer-encoding", "keep-alive"
+    );
+
+    private final LoadBalancerClient loadBalancerClient;
+    private final ClientHttpRequestFactory clientHttpRequestFactory;
+    private final TracePropagationInterceptor tracePropagationInterceptor;
+    private final ServiceResilienceRegistry resilienceRegistry;
+
+    @Value("${gateway.streaming.buffer-size:8192}")
+    private int bufferSize;
+
+    public void stream(GatewayRouteConfig.Route route, HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+        String serviceId = route.getService();
+        Bulkhead bulkhead = resilienceRegistry.bulkhead(serviceId);
+        CircuitBreaker circuitBreaker = resilienceRegistry.circuitBreaker(serviceId);
+
+        try {
+            bulkhead.acquirePermission();
+        } catch (BulkheadFullException e) {
+            log.warn("Bulkhead is full for service {}: {}", serviceId, e.getMessage());
+            sendError(response, HttpStatus.SERVICE_UNAVAILABLE,
+                "{\"error\":\"Service unavailable\",\"message\":\"Too many concurrent requests. Service is temporarily unavailable.\",\"service\":\"" + serviceId + "\"}");
+            return;
+        }
+
+        try {
+            stream(serviceId, circuitBreaker, request, response);
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    private void stream(String serviceId, CircuitBreaker circuitBreaker, HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (CallNotPermittedException e) {
+            log.warn("Circuit breaker is OPEN for service {}: {}", serviceId, e.getMessage());
+            sendError(response, HttpStatus.SERVICE_UNAVAILABLE,
+                "{\"error\":\"Service unavailable\",\"message\":\"Circuit breaker is open. Service is temporarily unavailable.\",\"service\":\"" + serviceId + "\"}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            int status = loadBalancerClient.execute(serviceId, instance -> {
+                URI target = loadBalancerClient.reconstructURI(instance, buildUri(serviceId, request));
+                return forward(target, request, response);
+            });
+
+            long duration = System.nanoTime() - start;
+            HttpStatusCode statusCode = HttpStatusCode.valueOf(status);
+            if (statusCode.is5xxServerError()) {
+                circuitBreaker.onError(duration, TimeUnit.NANOSECONDS, new HttpServerErrorException(statusCode));
+            } else {
+                circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+            }
+        } catch (IllegalStateException e) {
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            log.error("No instances available for service {}", serviceId);
+            sendError(response, HttpStatus.SERVICE_UNAVAILABLE,
+                "{\"error\":\"Service unavailable\",\"message\":\"No instances available for service " + serviceId + "\"}");
+        } catch (IOException e) {
+            if (isClientFailure(e)) {
+                // The client disconnected or aborted its upload, the backend is not to blame
+                circuitBreaker.releasePermission();
+                log.debug("Client went away while streaming to service {}: {}", serviceId, e.getMessage());
+                return;
+            }
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            log.error("Streaming error for service {}: {}", serviceId, e.getMessage());
+            sendError(response, HttpStatus.SERVICE_UNAVAILABLE,
+                "{\"error\":\"Service unavailable\",\"message\":\"Connection failed to service " + serviceId + "\"}");
+        } catch (RuntimeException e) {
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            log.error("Unexpected error streaming to service {}: {}", serviceId, e.getMessage(), e);
+            sendError(response, HttpStatus.INTERNAL_SERVER_ERROR,
+                "{\"error\":\"Gateway error\",\"message\":\"" + e.getMessage() + "\"}");
+        }
+    }
+
+    private int forward(URI target, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ClientHttpRequest upstreamRequest = clientHttpRequestFactory.createRequest(target, HttpMethod.valueOf(request.getMethod()));
+        copyRequestHeaders(request, upstreamRequest.getHeaders());
+        log.debug("Streaming {} {} to {}", request.getMethod(), request.getRequestURI(), target);
+
+        ClientHttpResponse upstreamResponse = tracePropagationInterceptor.intercept(upstreamRequest, NO_BODY, (req, body) -> {
+            if (hasBody(request)) {
+                if (upstreamRequest instanceof StreamingHttpOutputMessage streamingRequest) {
+                    streamingRequest.setBody(out -> copy(request.getInputStream(), out, true));
+                } else {
+                    copy(request.getInputStream(), upstreamRequest.getBody(), true);
+                }
+            }
+            return upstreamRequest.execute();
+        });
+
+        try (upstreamResponse) {
+            int status = upstreamResponse.getStatusCode().value();
+            response.setStatus(status);
+            upstreamResponse.getHeaders().forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                    values.forEach(value -> response.addHeader(name, value));
+                }
+            });
+            copy(upstreamResponse.getBody(), response.getOutputStream(), false);
+            try {
+                response.flushBuffer();
+            } catch (IOException e) {
+                throw new ClientStreamException(e);
+            }
+            return status;
+        }
+    }
+
+    private URI buildUri(String serviceId, HttpServletRequest request) {
+        String queryString = request.getQueryString();
+        String pathValue = request.getRequestURI();
+        if (queryString != null && !queryString.isEmpty()) {
+            pathValue += "?" + queryString;
+        }
+        return URI.create("http://" + serviceId + pathValue);
+    }
+
+    private void copyRequestHeaders(HttpServletRequest request, HttpHeaders headers) {
+        Enumeration<String> headerNames = request.getHeaderNames();
+        while (headerNames.hasMoreElements()) {
+            String headerName = headerNames.nextElement();
+            if (HOP_BY_HOP_HEADERS.contains(headerName.toLowerCase())) {
+                continue;
+            }
+            Enumeration<String> headerValues = request.getHeaders(headerName);
+            while (headerValues.hasMoreElements()) {
+                headers.add(headerName, headerValues.nextElement());
+            }
+        }
+        GatewayService.forwardPartnerContext(request, headers);
+    }
+
+    private boolean hasBody(HttpServletRequest request) {
+        return request.getContentLengthLong() > 0 || request.getHeader(HttpHeaders.TRANSFER_ENCODING) != null;
+    }
+
+    /**
+     * Pipes in to out. Failures on the client's side (reading its upload, or writing the response
+     * to it) are rethrown as {@link ClientStreamException} so they are not counted against the backend.
+     *
+     * @param fromClient whether in is the client's request body, otherwise out is the client's response
+     */
+    private void copy(InputStream in, OutputStream out, boolean fromClient) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        while (true) {
+            int read;
+            try {
+                read = in.read(buffer);
+            } catch (IOException e) {
+                throw fromClient ? new ClientStreamException(e) : e;
+            }
+            if (read == -1) {
+                return;
+            }
+            try {
+                out.write(buffer, 0, read);
+            } catch (IOException e) {
+                throw fromClient ? e : new ClientStreamException(e);
+            }
+        }
+    }
+
+    /**
+     * HTTP clients may wrap what the request body writer throws, so the whole cause chain is checked.
+     */
+    private static boolean isClientFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ClientStreamException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void sendError(HttpServletResponse response, HttpStatus status, String body) throws IOException {
+        if (response.isCommitted()) {
+            log.warn("Response already committed, cannot send {} to client", status.value());
+            return;
+        }
+        response.reset();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(body);
+    }
+
+    /**
+     * An I/O failure on the client's side of the stream.
+     */
+    private static final class ClientStreamException extends IOException {
+        private ClientStreamException(IOException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+}
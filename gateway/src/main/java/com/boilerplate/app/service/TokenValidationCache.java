@@ -0,0 +1,100 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import com.boilerplate.app.model.TokenValidationResult;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Size-bounded cache of token validation results keyed by SHA-256 of the token.
+ * A valid entry lives until the token's exp or max-staleness, whichever comes first,
+ * so a revoked token is accepted for at most max-staleness.
+ * Exposes cache.gets/cache.puts/cache.evictions metrics tagged cache=gateway.token.validation.
+ */
+@Slf4j
+@Component
+public class TokenValidationCache {
+    private static final String CACHE_NAME = "gateway.token.validation";
+
+    private final Cache<String, TokenValidationResult> cache;
+
+    public TokenValidationCache(GatewayRouteConfig gatewayRouteConfig, MeterRegistry meterRegistry) {
+        GatewayRouteConfig.ValidationCache config = gatewayRouteConfig.getOauth2() != null
+            ? gatewayRouteConfig.getOauth2().getCache()
+            : null;
+
+        if (config == null || !config.isEnabled()) {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(config.getMaximumSize())
+            .expireAfter(new ValidationExpiry(config.getMaxStaleness(), config.getNegativeTtl()))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public String key(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public TokenValidationResult get(String key) {
+        return cache != null ? cache.getIfPresent(key) : null;
+    }
+
+    public void put(String key, TokenValidationResult result) {
+        if (cache != null && result.cacheable()) {
+            cache.put(key, result);
+        }
+    }
+
+    private record ValidationExpiry(Duration maxStaleness, Duration negativeTtl)
+        implements Expiry<String, TokenValidationResult> {
+
+        @Override
+        public long expireAfterCreate(String key, TokenValidationResult value, long currentTime) {
+            if (!value.valid()) {
+                return negativeTtl.toNanos();
+            }
+            long ttl = maxStaleness.toNanos();
+            if (value.expiresAt() != null) {
+                long untilExpiry = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+                ttl = Math.min(ttl, Math.max(0, untilExpiry));
+            }
+            return ttl;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenValidationResult value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenValidationResult value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
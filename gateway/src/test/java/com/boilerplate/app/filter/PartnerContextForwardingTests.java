@@ -0,0 +1,147 @@
+package com.boilerplate.app.filter;
+
+import com.boilerplate.app.base.constant.PartnerContextConstants;
+import com.boilerplate.app.base.model.PartnerContext;
+import com.boilerplate.app.base.util.PartnerContextCodec;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A client-sent X-Partner-Context must never reach a backend: it is dropped on public and streaming
+ * routes and replaced with the gateway's own signed context on authenticated routes.
+ * Runs against a local backend that records the header it receives, once per gateway engine.
+ */
+abstract class PartnerContextForwardingTests {
+    private static final String JWT_SECRET = "partner-context-forwarding-tests-jwt-secret";
+    private static final String FORGED = "v1.forged.context";
+    private static final String NONE = "<none>";
+
+    /** Partner context received by the backend, per request path */
+    private static final Map<String, String> received = new ConcurrentHashMap<>();
+    private static final HttpServer backend = startBackend();
+    private static final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    PartnerContextCodec partnerContextCodec;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        registry.add("eureka.client.enabled", () -> false);
+        registry.add("spring.cloud.discovery.client.simple.instances.echo[0].uri",
+            () -> "http://127.0.0.1:" + backend.getAddress().getPort());
+        route(registry, 0, "/api/public/**", false, false);
+        route(registry, 1, "/api/files/**", false, true);
+        route(registry, 2, "/api/secure/**", true, false);
+        registry.add("gateway.oauth2.local-verification.enabled", () -> true);
+        registry.add("gateway.oauth2.local-verification.revocation-check", () -> false);
+        registry.add("gateway.oauth2.local-verification.secret", () -> JWT_SECRET);
+    }
+
+    private static void route(DynamicPropertyRegistry registry, int index, String path, boolean requiresAuth, boolean streaming) {
+        String prefix = "gateway.routes[" + index + "].";
+        registry.add(prefix + "path", () -> path);
+        registry.add(prefix + "service", () -> "echo");
+        registry.add(prefix + "requires-auth", () -> requiresAuth);
+        registry.add(prefix + "streaming", () -> streaming);
+    }
+
+    @Test
+    void dropsClientPartnerContextOnPublicRoutes() {
+        String path = "/api/public/" + getClass().getSimpleName();
+
+        assertThat(send(path, null)).isEqualTo(200);
+        assertThat(received.get(path)).isEqualTo(NONE);
+    }
+
+    @Test
+    void dropsClientPartnerContextOnStreamingRoutes() {
+        String path = "/api/files/" + getClass().getSimpleName();
+
+        assertThat(send(path, null)).isEqualTo(200);
+        assertThat(received.get(path)).isEqualTo(NONE);
+    }
+
+    @Test
+    void replacesClientPartnerContextOnAuthenticatedRoutes() {
+        String path = "/api/secure/" + getClass().getSimpleName();
+
+        assertThat(send(path, token())).isEqualTo(200);
+
+        PartnerContext forwarded = partnerContextCodec.decode(received.get(path));
+        assertThat(forwarded).isNotNull();
+        assertThat(forwarded.partnerId()).isEqualTo("42");
+        assertThat(forwarded.internalPartnerId()).isEqualTo("P042");
+        assertThat(forwarded.expiresAt()).isBefore(Instant.now().plus(Duration.ofMinutes(6)));
+    }
+
+    private int send(String path, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+            .header(PartnerContextConstants.PARTNER_CONTEXT_HEADER, FORGED);
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        try {
+            return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String token() {
+        return Jwts.builder()
+            .subject("partner-client")
+            .claim(PartnerContextConstants.PARTNER_ID_CLAIM, "42")
+            .claim(PartnerContextConstants.INTERNAL_PARTNER_ID_CLAIM, "P042")
+            .expiration(Date.from(Instant.now().plus(Duration.ofHours(1))))
+            .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+    }
+
+    private static HttpServer startBackend() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/", exchange -> {
+                List<String> values = exchange.getRequestHeaders().get(PartnerContextConstants.PARTNER_CONTEXT_HEADER);
+                received.put(exchange.getRequestURI().getPath(), values == null ? NONE : String.join(",", values));
+                byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
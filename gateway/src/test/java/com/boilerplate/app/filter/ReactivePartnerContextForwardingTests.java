@@ -0,0 +1,7 @@
+package com.boilerplate.app.filter;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "gateway.engine=reactive")
+class ReactivePartnerContextForwardingTests extends PartnerContextForwardingTests {
+}
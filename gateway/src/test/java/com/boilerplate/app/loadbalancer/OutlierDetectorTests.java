@@ -0,0 +1,179 @@
+package com.boilerplate.app.loadbalancer;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutlierDetectorTests {
+    private static final ServiceInstance A = instance(1);
+    private static final ServiceInstance B = instance(2);
+    private static final ServiceInstance C = instance(3);
+    private static final ServiceInstance D = instance(4);
+
+    private final GatewayRouteConfig config = new GatewayRouteConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void ejectsAfterConsecutiveFailures() {
+        OutlierDetector detector = detector();
+
+        fail(detector, A, 4);
+        detector.onComplete(A, false);
+        fail(detector, A, 4);
+        assertThat(detector.filter(List.of(A, B))).containsExactly(A, B);
+
+        detector.onComplete(A, true);
+
+        assertThat(detector.filter(List.of(A, B))).containsExactly(B);
+        assertThat(meterRegistry.counter("gateway.loadbalancer.ejections", "instance", "10.0.0.1:8080").count()).isEqualTo(1);
+    }
+
+    @Test
+    void ejectsOnFailureRateOnceThereAreEnoughCalls() {
+        config.getLoadBalancer().getOutlierDetection().setConsecutiveFailures(100);
+        OutlierDetector detector = detector();
+
+        // Every other call fails: 50% once the 20th call is in
+        for (int i = 0; i < 19; i++) {
+            detector.onComplete(A, i % 2 == 1);
+        }
+        assertThat(detector.filter(List.of(A, B))).containsExactly(A, B);
+
+        detector.onComplete(A, true);
+
+        assertThat(detector.filter(List.of(A, B))).containsExactly(B);
+    }
+
+    @Test
+    void failureRateIsCountedPerInterval() {
+        config.getLoadBalancer().getOutlierDetection().setConsecutiveFailures(100);
+        OutlierDetector detector = detector();
+
+        fail(detector, A, 10);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        for (int i = 0; i < 19; i++) {
+            detector.onComplete(A, i < 9);
+        }
+        detector.onComplete(A, false);
+
+        assertThat(detector.filter(List.of(A, B))).containsExactly(A, B);
+    }
+
+    @Test
+    void neverEjectsMoreThanMaxEjectionPercent() {
+        OutlierDetector detector = detector();
+        fail(detector, A, 5);
+        fail(detector, B, 5);
+        fail(detector, C, 5);
+
+        assertThat(detector.filter(List.of(A, B, C, D))).containsExactly(C, D);
+        assertThat(detector.filter(List.of(A, B, C))).containsExactly(B, C);
+        assertThat(detector.filter(List.of(A))).containsExactly(A);
+    }
+
+    @Test
+    void ejectionTimeGrowsWithEachEjectionUpToTheMaximum() {
+        config.getLoadBalancer().getOutlierDetection().setMaxEjectionTime(Duration.ofSeconds(75));
+        OutlierDetector detector = detector();
+
+        fail(detector, A, 5);
+        assertEjectedFor(detector, Duration.ofSeconds(30));
+
+        fail(detector, A, 5);
+        assertEjectedFor(detector, Duration.ofSeconds(60));
+
+        fail(detector, A, 5);
+        assertEjectedFor(detector, Duration.ofSeconds(75));
+    }
+
+    @Test
+    void failuresInFlightDuringEjectionDoNotExtendIt() {
+        OutlierDetector detector = detector();
+        fail(detector, A, 5);
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        fail(detector, A, 5);
+
+        assertThat(meterRegistry.counter("gateway.loadbalancer.ejections", "instance", "10.0.0.1:8080").count()).isEqualTo(1);
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertThat(detector.filter(List.of(A, B))).containsExactly(A, B);
+    }
+
+    @Test
+    void firstCleanIntervalAfterAnEjectionForgetsIt() {
+        // Shorter than an interval, so the instance is back in the middle of one
+        config.getLoadBalancer().getOutlierDetection().setBaseEjectionTime(Duration.ofSeconds(5));
+        OutlierDetector detector = detector();
+        fail(detector, A, 5);
+
+        // One interval of calls counted from the end of the ejection
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        detector.onComplete(A, false);
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        detector.onComplete(A, false);
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        detector.onComplete(A, false);
+
+        fail(detector, A, 5);
+        assertEjectedFor(detector, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void eachCleanIntervalForgetsOneEjection() {
+        OutlierDetector detector = detector();
+        fail(detector, A, 5);
+        assertEjectedFor(detector, Duration.ofSeconds(30));
+        fail(detector, A, 5);
+        assertEjectedFor(detector, Duration.ofSeconds(60));
+
+        detector.onComplete(A, false);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        detector.onComplete(A, false);
+
+        fail(detector, A, 5);
+        assertEjectedFor(detector, Duration.ofSeconds(60));
+    }
+
+    @Test
+    void disabledDetectionNeverEjects() {
+        config.getLoadBalancer().getOutlierDetection().setEnabled(false);
+        OutlierDetector detector = detector();
+
+        fail(detector, A, 50);
+
+        assertThat(detector.filter(List.of(A, B))).containsExactly(A, B);
+    }
+
+    private OutlierDetector detector() {
+        return new OutlierDetector(config, meterRegistry, now::get);
+    }
+
+    /**
+     * Checks A is ejected for exactly the given time, leaving the clock at the end of the ejection.
+     */
+    private void assertEjectedFor(OutlierDetector detector, Duration ejection) {
+        now.addAndGet(ejection.toNanos() - 1);
+        assertThat(detector.filter(List.of(A, B))).containsExactly(B);
+        now.addAndGet(1);
+        assertThat(detector.filter(List.of(A, B))).containsExactly(A, B);
+    }
+
+    private static void fail(OutlierDetector detector, ServiceInstance instance, int calls) {
+        for (int i = 0; i < calls; i++) {
+            detector.onComplete(instance, true);
+        }
+    }
+
+    private static ServiceInstance instance(int index) {
+        return new DefaultServiceInstance("instance-" + index, "service-account", "10.0.0." + index, 8080, false);
+    }
+}
@@ -0,0 +1,143 @@
+package com.boilerplate.app.routing;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteTableTests {
+
+    @Test
+    void exactPatternMatchesItselfAndPathsBelowIt() {
+        GatewayRouteConfig.Route accounts = route("/api/accounts");
+        RouteTable table = table(accounts);
+
+        assertThat(table.match("/api/accounts")).isSameAs(accounts);
+        assertThat(table.match("/api/accounts/1")).isSameAs(accounts);
+        assertThat(table.match("/api/accountsx")).isNull();
+        assertThat(table.match("/api/account")).isNull();
+        assertThat(table.match("/api")).isNull();
+    }
+
+    @Test
+    void wildcardPatternMatchesPathsStartingWithItsPrefix() {
+        GatewayRouteConfig.Route api = route("/api/**");
+        RouteTable table = table(api);
+
+        assertThat(table.match("/api")).isSameAs(api);
+        assertThat(table.match("/api/accounts/1")).isSameAs(api);
+        assertThat(table.match("/other")).isNull();
+        assertThat(table.match("/ap")).isNull();
+    }
+
+    @Test
+    void longerExactPatternWinsOverWildcard() {
+        GatewayRouteConfig.Route api = route("/api/**");
+        GatewayRouteConfig.Route accounts = route("/api/accounts");
+        RouteTable table = table(api, accounts);
+
+        assertThat(table.match("/api/accounts")).isSameAs(accounts);
+        assertThat(table.match("/api/accounts/1")).isSameAs(accounts);
+        assertThat(table.match("/api/payments")).isSameAs(api);
+    }
+
+    @Test
+    void longerWildcardPatternWinsOverExact() {
+        GatewayRouteConfig.Route accounts = route("/api/accounts");
+        GatewayRouteConfig.Route accountFiles = route("/api/accounts/files/**");
+        RouteTable table = table(accounts, accountFiles);
+
+        assertThat(table.match("/api/accounts/files/1")).isSameAs(accountFiles);
+        assertThat(table.match("/api/accounts/1")).isSameAs(accounts);
+    }
+
+    @Test
+    void longestPrefixWins() {
+        GatewayRouteConfig.Route api = route("/api/**");
+        GatewayRouteConfig.Route accounts = route("/api/accounts/**");
+        GatewayRouteConfig.Route statements = route("/api/accounts/statements/**");
+        // Declared from most to least specific, so the result does not depend on order
+        RouteTable table = table(statements, accounts, api);
+
+        assertThat(table.match("/api/accounts/statements/2024")).isSameAs(statements);
+        assertThat(table.match("/api/accounts/1")).isSameAs(accounts);
+        assertThat(table.match("/api/payments/1")).isSameAs(api);
+    }
+
+    @Test
+    void tiesGoToTheRouteDeclaredFirst() {
+        GatewayRouteConfig.Route first = route("/api/accounts/**");
+        GatewayRouteConfig.Route second = route("/api/accounts/**");
+        // Same length as the wildcard patterns above
+        GatewayRouteConfig.Route exact = route("/api/accounts/me");
+
+        assertThat(table(first, second).match("/api/accounts/1")).isSameAs(first);
+        assertThat(table(second, first).match("/api/accounts/1")).isSameAs(second);
+        assertThat(table(first, exact).match("/api/accounts/me")).isSameAs(first);
+        assertThat(table(exact, first).match("/api/accounts/me")).isSameAs(exact);
+    }
+
+    @Test
+    void trailingSlashes() {
+        GatewayRouteConfig.Route accounts = route("/api/accounts");
+        GatewayRouteConfig.Route payments = route("/api/payments/");
+        GatewayRouteConfig.Route files = route("/api/files/**");
+        RouteTable table = table(accounts, payments, files);
+
+        assertThat(table.match("/api/accounts/")).isSameAs(accounts);
+        assertThat(table.match("/api/payments/")).isSameAs(payments);
+        // An exact pattern with a trailing slash matches only itself, not the path without it
+        // or paths below it (those would be below "/api/payments//")
+        assertThat(table.match("/api/payments")).isNull();
+        assertThat(table.match("/api/payments/1")).isNull();
+        assertThat(table.match("/api/files")).isSameAs(files);
+        assertThat(table.match("/api/files/")).isSameAs(files);
+    }
+
+    @Test
+    void skipsRoutesWithoutPath() {
+        GatewayRouteConfig.Route accounts = route("/api/accounts/**");
+        RouteTable table = RouteTable.compile(Arrays.asList(null, route(null), accounts), null);
+
+        assertThat(table.routes()).containsExactly(accounts);
+        assertThat(table.match("/api/accounts/1")).isSameAs(accounts);
+        assertThat(table.match(null)).isNull();
+    }
+
+    @Test
+    void publicPathsMatchAsPrefixes() {
+        RouteTable table = RouteTable.compile(List.of(), List.of("/api/auth", "/actuator/health"));
+
+        assertThat(table.isPublicPath("/api/auth")).isTrue();
+        assertThat(table.isPublicPath("/api/auth/token")).isTrue();
+        assertThat(table.isPublicPath("/api/authorize")).isTrue();
+        assertThat(table.isPublicPath("/actuator/health/liveness")).isTrue();
+        assertThat(table.isPublicPath("/api/au")).isFalse();
+        assertThat(table.isPublicPath("/api/accounts")).isFalse();
+        assertThat(table.isPublicPath("/actuator")).isFalse();
+        assertThat(table.isPublicPath(null)).isFalse();
+    }
+
+    @Test
+    void noPublicPaths() {
+        RouteTable table = RouteTable.compile(null, null);
+
+        assertThat(table.publicPaths()).isEmpty();
+        assertThat(table.isPublicPath("/api/auth")).isFalse();
+        assertThat(table.match("/api/auth")).isNull();
+    }
+
+    private static RouteTable table(GatewayRouteConfig.Route... routes) {
+        return RouteTable.compile(List.of(routes), List.of());
+    }
+
+    private static GatewayRouteConfig.Route route(String path) {
+        GatewayRouteConfig.Route route = new GatewayRouteConfig.Route();
+        route.setPath(path);
+        route.setService("service-" + path);
+        return route;
+    }
+}
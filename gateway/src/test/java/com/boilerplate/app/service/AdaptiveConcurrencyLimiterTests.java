@@ -0,0 +1,197 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTests {
+    private static final String SERVICE = "service-account";
+    private static final Duration FAST = Duration.ofMillis(10);
+
+    private final GatewayRouteConfig config = new GatewayRouteConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        GatewayRouteConfig.ConcurrencyLimit limit = config.getConcurrencyLimit();
+        limit.setInitialLimit(20);
+        limit.setMinLimit(10);
+        limit.setMaxLimit(40);
+        // One update per round below
+        limit.setWindow(FAST);
+        limit.setMinWindowSamples(1);
+        limiter = new AdaptiveConcurrencyLimiter(config, meterRegistry, now::get);
+        // Registers the service's gauges
+        limiter.tryAcquire(SERVICE).onIgnore();
+    }
+
+    @Test
+    void rejectsRequestsBeyondTheLimit() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll();
+
+        assertThat(permits).hasSize(20);
+        assertThat(limiter.tryAcquire(SERVICE)).isNull();
+        // acquireAll stopped at the first rejection
+        assertThat(meterRegistry.counter("gateway.concurrency.rejected", "service", SERVICE).count()).isEqualTo(2);
+        assertThat(inFlight()).isEqualTo(20);
+    }
+
+    @Test
+    void completedPermitFreesItsSlot() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll();
+
+        permits.get(0).onComplete();
+
+        assertThat(inFlight()).isEqualTo(19);
+        assertThat(limiter.tryAcquire(SERVICE)).isNotNull();
+        assertThat(limiter.tryAcquire(SERVICE)).isNull();
+    }
+
+    @Test
+    void ignoredPermitFreesItsSlot() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll();
+
+        permits.get(0).onIgnore();
+
+        assertThat(inFlight()).isEqualTo(19);
+        assertThat(limiter.tryAcquire(SERVICE)).isNotNull();
+        assertThat(limiter.tryAcquire(SERVICE)).isNull();
+    }
+
+    @Test
+    void everyPermitReleasedLeavesNothingInFlight() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll();
+
+        for (int i = 0; i < permits.size(); i++) {
+            if (i % 2 == 0) {
+                permits.get(i).onComplete();
+            } else {
+                permits.get(i).onIgnore();
+            }
+        }
+
+        assertThat(inFlight()).isZero();
+        assertThat(acquireAll()).hasSize(limit());
+    }
+
+    @Test
+    void limitGrowsWhileLatencyStaysFlat() {
+        int previous = limit();
+        for (int round = 0; round < 100; round++) {
+            saturate(FAST, AdaptiveConcurrencyLimiter.Permit::onComplete);
+            assertThat(limit()).isGreaterThanOrEqualTo(previous);
+            previous = limit();
+        }
+
+        assertThat(limit()).isEqualTo(40);
+    }
+
+    @Test
+    void limitGrowsBySmoothedSquareRoot() {
+        saturate(FAST, AdaptiveConcurrencyLimiter.Permit::onComplete);
+
+        // 20 * 0.8 + (20 + sqrt(20)) * 0.2 = 20.89
+        assertThat(limit()).isEqualTo(20);
+        saturate(FAST, AdaptiveConcurrencyLimiter.Permit::onComplete);
+        // 20.89 * 0.8 + (20.89 + sqrt(20.89)) * 0.2 = 21.80
+        assertThat(limit()).isEqualTo(21);
+    }
+
+    @Test
+    void limitBacksOffWhenLatencyRises() {
+        for (int round = 0; round < 100; round++) {
+            saturate(FAST, AdaptiveConcurrencyLimiter.Permit::onComplete);
+        }
+        int steady = limit();
+
+        // The first slow window still holds the calls completed after the last update
+        saturate(FAST.multipliedBy(4), AdaptiveConcurrencyLimiter.Permit::onComplete);
+        saturate(FAST.multipliedBy(4), AdaptiveConcurrencyLimiter.Permit::onComplete);
+        int backedOff = limit();
+        assertThat(backedOff).isLessThan(steady);
+
+        saturate(FAST.multipliedBy(4), AdaptiveConcurrencyLimiter.Permit::onComplete);
+        assertThat(limit()).isLessThan(backedOff);
+    }
+
+    @Test
+    void limitNeverDropsBelowTheMinimum() {
+        long rtt = FAST.toNanos();
+        for (int round = 0; round < 100; round++) {
+            rtt = rtt * 3 / 2;
+            saturate(Duration.ofNanos(rtt), AdaptiveConcurrencyLimiter.Permit::onComplete);
+        }
+
+        assertThat(limit()).isEqualTo(10);
+    }
+
+    @Test
+    void lightTrafficDoesNotMoveTheLimit() {
+        for (int round = 0; round < 100; round++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(SERVICE);
+            now.addAndGet(FAST.toNanos());
+            permit.onComplete();
+        }
+
+        assertThat(limit()).isEqualTo(20);
+    }
+
+    @Test
+    void ignoredPermitsDoNotMoveTheLimit() {
+        for (int round = 0; round < 100; round++) {
+            saturate(FAST, AdaptiveConcurrencyLimiter.Permit::onIgnore);
+        }
+
+        assertThat(limit()).isEqualTo(20);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void disabledLimiterAdmitsEverything() {
+        config.getConcurrencyLimit().setEnabled(false);
+
+        for (int i = 0; i < 100; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(SERVICE);
+            assertThat(permit).isNotNull();
+        }
+        limiter.tryAcquire(SERVICE).onComplete();
+        limiter.tryAcquire(SERVICE).onIgnore();
+    }
+
+    /**
+     * Fills the current limit, lets every call take rtt and releases them.
+     */
+    private void saturate(Duration rtt, Consumer<AdaptiveConcurrencyLimiter.Permit> release) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll();
+        now.addAndGet(rtt.toNanos());
+        permits.forEach(release);
+    }
+
+    private List<AdaptiveConcurrencyLimiter.Permit> acquireAll() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        while ((permit = limiter.tryAcquire(SERVICE)) != null) {
+            permits.add(permit);
+        }
+        return permits;
+    }
+
+    private int limit() {
+        return (int) meterRegistry.get("gateway.concurrency.limit").tag("service", SERVICE).gauge().value();
+    }
+
+    private int inFlight() {
+        return (int) meterRegistry.get("gateway.concurrency.inflight").tag("service", SERVICE).gauge().value();
+    }
+}
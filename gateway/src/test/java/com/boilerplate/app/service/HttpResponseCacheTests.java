@@ -0,0 +1,207 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpResponseCacheTests {
+    private static final String PATH = "/api/accounts/1";
+    private static final String ETAG = "\"v1\"";
+
+    private final GatewayRouteConfig config = new GatewayRouteConfig();
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final GatewayRouteConfig.Route route = new GatewayRouteConfig.Route();
+    private HttpResponseCache cache;
+    private HttpResponseCache.Key key;
+
+    @BeforeEach
+    void setUp() {
+        config.getResponseCache().setMaxTtl(Duration.ofMinutes(10));
+        config.getResponseCache().setStaleRetention(Duration.ofMinutes(5));
+        route.setPath("/api/accounts/**");
+        route.setService("service-account");
+        route.getCache().setEnabled(true);
+        route.getCache().setVaryHeaders(List.of(HttpHeaders.ACCEPT_LANGUAGE));
+        cache = new HttpResponseCache(config, new SimpleMeterRegistry(), now::get);
+        key = cache.keyFor(route, HttpMethod.GET, request("en"));
+    }
+
+    @Test
+    void keysOnPathQueryAndVaryHeaders() {
+        MockHttpServletRequest withQuery = request("en");
+        withQuery.setQueryString("expand=true");
+
+        assertThat(cache.keyFor(route, HttpMethod.GET, request("en"))).isEqualTo(key);
+        assertThat(cache.keyFor(route, HttpMethod.GET, request("fr"))).isNotEqualTo(key);
+        assertThat(cache.keyFor(route, HttpMethod.GET, withQuery)).isNotEqualTo(key);
+    }
+
+    @Test
+    void cachesOnlyGetRequestsOnRoutesWithCacheEnabled() {
+        assertThat(cache.keyFor(route, HttpMethod.POST, request("en"))).isNull();
+
+        route.getCache().setEnabled(false);
+        assertThat(cache.keyFor(route, HttpMethod.GET, request("en"))).isNull();
+
+        config.getResponseCache().setEnabled(false);
+        route.getCache().setEnabled(true);
+        HttpResponseCache disabled = new HttpResponseCache(config, new SimpleMeterRegistry(), now::get);
+        assertThat(disabled.keyFor(route, HttpMethod.GET, request("en"))).isNull();
+    }
+
+    @Test
+    void entryIsFreshForItsMaxAge() {
+        cache.put(key, route, ok("max-age=60", null));
+
+        HttpResponseCache.Entry entry = cache.get(key);
+        assertThat(entry.isFresh()).isTrue();
+        advance(Duration.ofSeconds(59));
+        assertThat(entry.isFresh()).isTrue();
+        assertThat(entry.toResponse().getHeaders().getFirst(HttpHeaders.AGE)).isEqualTo("59");
+
+        advance(Duration.ofSeconds(1));
+        assertThat(entry.isFresh()).isFalse();
+        // Nothing to revalidate it with
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void sharedMaxAgeWinsOverMaxAge() {
+        cache.put(key, route, ok("max-age=10, s-maxage=60", null));
+
+        advance(Duration.ofSeconds(30));
+
+        assertThat(cache.get(key).isFresh()).isTrue();
+    }
+
+    @Test
+    void routeDefaultTtlAppliesWithoutCacheControl() {
+        cache.put(key, route, ok(null, null));
+        assertThat(cache.get(key)).isNull();
+
+        route.getCache().setDefaultTtl(Duration.ofSeconds(30));
+        cache.put(key, route, ok(null, null));
+        assertThat(cache.get(key).isFresh()).isTrue();
+    }
+
+    @Test
+    void freshnessIsCappedAtMaxTtl() {
+        cache.put(key, route, ok("max-age=3600", null));
+
+        advance(Duration.ofMinutes(10).minusSeconds(1));
+        assertThat(cache.get(key).isFresh()).isTrue();
+        advance(Duration.ofSeconds(1));
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void doesNotCacheWhatASharedCacheMustNotKeep() {
+        cache.put(key, route, ok("private, max-age=60", null));
+        cache.put(key, route, ok("no-store", null));
+        cache.put(key, route, ok("no-cache", null));
+        cache.put(key, route, ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+            .header(HttpHeaders.SET_COOKIE, "session=1").body("{}"));
+        cache.put(key, route, ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+            .header(HttpHeaders.VARY, "Authorization").body("{}"));
+        cache.put(key, route, ResponseEntity.status(HttpStatus.CREATED).header(HttpHeaders.CACHE_CONTROL, "max-age=60").body("{}"));
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void cachesResponsesVaryingOnTheRoutesVaryHeaders() {
+        cache.put(key, route, ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+            .header(HttpHeaders.VARY, "accept-language").body("{}"));
+
+        assertThat(cache.get(key)).isNotNull();
+    }
+
+    @Test
+    void expiredEntryWithETagIsKeptForStaleRetention() {
+        cache.put(key, route, ok("max-age=60", ETAG));
+
+        advance(Duration.ofSeconds(60));
+        HttpResponseCache.Entry stale = cache.get(key);
+        assertThat(stale).isNotNull();
+        assertThat(stale.isFresh()).isFalse();
+        assertThat(stale.eTag()).isEqualTo(ETAG);
+
+        advance(Duration.ofMinutes(5).minusNanos(1));
+        assertThat(cache.get(key)).isNotNull();
+        advance(Duration.ofNanos(1));
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void notModifiedRenewsTheEntryAndAnswersWithTheCachedBody() {
+        cache.put(key, route, ok("max-age=60", ETAG));
+        advance(Duration.ofSeconds(90));
+        HttpResponseCache.Entry stale = cache.get(key);
+
+        ResponseEntity<String> notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .header(HttpHeaders.CACHE_CONTROL, "max-age=120")
+            .eTag(ETAG)
+            .header("X-Backend", "revalidated")
+            .build();
+        ResponseEntity<String> response = cache.revalidated(key, stale, route, notModified);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("{\"id\":1}");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE)).isEqualTo("application/json");
+        assertThat(response.getHeaders().getFirst("X-Backend")).isEqualTo("revalidated");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.AGE)).isEqualTo("0");
+
+        advance(Duration.ofSeconds(119));
+        HttpResponseCache.Entry renewed = cache.get(key);
+        assertThat(renewed.isFresh()).isTrue();
+        assertThat(renewed.headers().getCacheControl()).isEqualTo("max-age=120");
+    }
+
+    @Test
+    void notModifiedThatForbidsCachingStillAnswersWithTheCachedBody() {
+        cache.put(key, route, ok("max-age=60", ETAG));
+        advance(Duration.ofSeconds(90));
+
+        ResponseEntity<String> notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .header(HttpHeaders.CACHE_CONTROL, "no-store")
+            .build();
+        ResponseEntity<String> response = cache.revalidated(key, cache.get(key), route, notModified);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("{\"id\":1}");
+        assertThat(cache.get(key)).isNull();
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    private static ResponseEntity<String> ok(String cacheControl, String eTag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().header(HttpHeaders.CONTENT_TYPE, "application/json");
+        if (cacheControl != null) {
+            response.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        if (eTag != null) {
+            response.eTag(eTag);
+        }
+        return response.body("{\"id\":1}");
+    }
+
+    private static MockHttpServletRequest request(String language) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.addHeader(HttpHeaders.ACCEPT_LANGUAGE, language);
+        return request;
+    }
+}
@@ -0,0 +1,109 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartnerRateLimiterTests {
+    /** 10 requests per second */
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final GatewayRouteConfig config = new GatewayRouteConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private PartnerRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        config.getRateLimit().setDefaultLimit(limit(10, 5));
+        limiter = new PartnerRateLimiter(config, meterRegistry, now::get);
+    }
+
+    @Test
+    void admitsABurstAtOnce() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("P001")).as("request %d", i).isZero();
+        }
+        assertThat(limiter.tryAcquire("P001")).isPositive();
+        assertThat(meterRegistry.counter("gateway.ratelimit.rejected", "partner", "P001").count()).isEqualTo(1);
+    }
+
+    @Test
+    void retryAfterIsTheTimeUntilTheNextRequestFits() {
+        exhaust("P001");
+
+        assertThat(limiter.tryAcquire("P001")).isEqualTo(INTERVAL);
+        now.addAndGet(INTERVAL / 4);
+        assertThat(limiter.tryAcquire("P001")).isEqualTo(INTERVAL - INTERVAL / 4);
+        now.addAndGet(INTERVAL - INTERVAL / 4);
+        assertThat(limiter.tryAcquire("P001")).isZero();
+    }
+
+    @Test
+    void admitsTheSustainedRateOnceTheBurstIsUsed() {
+        exhaust("P001");
+
+        for (int i = 0; i < 20; i++) {
+            now.addAndGet(INTERVAL);
+            assertThat(limiter.tryAcquire("P001")).as("request %d", i).isZero();
+            assertThat(limiter.tryAcquire("P001")).as("request %d", i).isPositive();
+        }
+    }
+
+    @Test
+    void idleTimeRefillsTheBurstButNoMore() {
+        exhaust("P001");
+
+        now.addAndGet(INTERVAL * 100);
+
+        exhaust("P001");
+    }
+
+    @Test
+    void partnersAreLimitedIndependently() {
+        config.getRateLimit().getPartners().put("P002", limit(10, 2));
+        exhaust("P001");
+
+        assertThat(limiter.tryAcquire("P002")).isZero();
+        assertThat(limiter.tryAcquire("P002")).isZero();
+        assertThat(limiter.tryAcquire("P002")).isPositive();
+        assertThat(limiter.tryAcquire("P003")).isZero();
+        assertThat(meterRegistry.counter("gateway.ratelimit.rejected", "partner", "P002").count()).isEqualTo(1);
+    }
+
+    @Test
+    void zeroRateOrDisabledLimitAdmitsEverything() {
+        config.getRateLimit().getPartners().put("P002", limit(0, 1));
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire("P002")).isZero();
+        }
+
+        exhaust("P001");
+        config.getRateLimit().setEnabled(false);
+        assertThat(limiter.tryAcquire("P001")).isZero();
+        assertThat(limiter.tryAcquire(null)).isZero();
+    }
+
+    /**
+     * Uses the partner's whole burst of 5 and checks the next request is rejected.
+     */
+    private void exhaust(String partner) {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(partner)).as("request %d", i).isZero();
+        }
+        assertThat(limiter.tryAcquire(partner)).isPositive();
+    }
+
+    private static GatewayRouteConfig.PartnerLimit limit(double requestsPerSecond, int burst) {
+        GatewayRouteConfig.PartnerLimit limit = new GatewayRouteConfig.PartnerLimit();
+        limit.setRequestsPerSecond(requestsPerSecond);
+        limit.setBurst(burst);
+        return limit;
+    }
+}
@@ -0,0 +1,104 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.config.GatewayRouteConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RequestHedgerTests {
+    private static final String SERVICE = "service-account";
+    private static final String PATH = "/api/accounts/1";
+    private static final ServiceInstance A = instance(1);
+    private static final ServiceInstance B = instance(2);
+
+    private final ServiceInstanceClient instanceClient = mock(ServiceInstanceClient.class);
+    private final GatewayRouteConfig.Route route = new GatewayRouteConfig.Route();
+    private final AtomicReference<Thread> sentOn = new AtomicReference<>();
+    private RequestHedger hedger;
+
+    @BeforeEach
+    void setUp() {
+        route.setPath("/api/accounts/**");
+        route.setService(SERVICE);
+        route.getHedge().setEnabled(true);
+        when(instanceClient.choose(SERVICE)).thenReturn(A);
+        when(instanceClient.exchange(any(ServiceInstance.class), eq(SERVICE), anyString(), any(HttpMethod.class), any(HttpEntity.class)))
+            .thenAnswer(invocation -> {
+                sentOn.set(Thread.currentThread());
+                return ResponseEntity.ok("{}");
+            });
+        hedger = new RequestHedger(instanceClient, new GatewayRouteConfig(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        hedger.shutdown();
+    }
+
+    @Test
+    void sendsOnTheCallersThreadUntilThereAreEnoughSamples() {
+        exchange();
+
+        assertThat(sentOn.get()).isSameAs(Thread.currentThread());
+        verify(instanceClient, never()).chooseOther(anyString(), any());
+    }
+
+    @Test
+    void sendsOnTheCallersThreadWhenThereIsNoOtherInstance() {
+        warmUp();
+
+        exchange();
+
+        assertThat(sentOn.get()).isSameAs(Thread.currentThread());
+        verify(instanceClient).chooseOther(SERVICE, List.of(A));
+    }
+
+    @Test
+    void racesOnItsOwnThreadWhenAHedgeCanBeSent() {
+        warmUp();
+        when(instanceClient.chooseOther(SERVICE, List.of(A))).thenReturn(B);
+
+        assertThat(exchange().getBody()).isEqualTo("{}");
+
+        assertThat(sentOn.get()).isNotSameAs(Thread.currentThread());
+        assertThat(sentOn.get().isVirtual()).isTrue();
+    }
+
+    /**
+     * Records enough latency samples for the route to be hedged.
+     */
+    private void warmUp() {
+        for (int i = 0; i < 100; i++) {
+            exchange();
+        }
+    }
+
+    private ResponseEntity<String> exchange() {
+        long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        return hedger.exchange(route, PATH, HttpMethod.GET, new HttpEntity<>(new HttpHeaders()), deadlineNanos);
+    }
+
+    private static ServiceInstance instance(int index) {
+        return new DefaultServiceInstance("instance-" + index, SERVICE, "10.0.0." + index, 8080, false);
+    }
+}
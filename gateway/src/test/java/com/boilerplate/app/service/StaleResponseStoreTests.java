@@ -0,0 +1,159 @@
+package com.boilerplate.app.service;
+
+import com.boilerplate.app.base.constant.PartnerContextConstants;
+import com.boilerplate.app.base.model.PartnerContext;
+import com.boilerplate.app.base.util.DeadlineContext;
+import com.boilerplate.app.base.util.PartnerContextCodec;
+import com.boilerplate.app.config.GatewayRouteConfig;
+import com.boilerplate.app.filter.AuthenticationFilter;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StaleResponseStoreTests {
+    private static final String SERVICE = "service-account";
+    private static final String PATH = "/api/accounts/1";
+    private static final PartnerContextCodec CODEC = new PartnerContextCodec("stale-response-store-tests");
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Bulkhead bulkhead = Bulkhead.of(SERVICE, BulkheadConfig.custom().maxConcurrentCalls(1).build());
+    private StaleResponseStore store;
+
+    @BeforeEach
+    void setUp() {
+        ServiceResilienceRegistry resilienceRegistry = mock(ServiceResilienceRegistry.class);
+        when(resilienceRegistry.circuitBreaker(SERVICE)).thenReturn(CircuitBreaker.ofDefaults(SERVICE));
+        when(resilienceRegistry.bulkhead(SERVICE)).thenReturn(bulkhead);
+        GatewayRouteConfig config = new GatewayRouteConfig();
+        config.getStaleResponses().setRefreshInterval(Duration.ZERO);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("partnerContextCodec", CODEC));
+        PartnerContextSigner signer = new PartnerContextSigner(beans.getBeanProvider(PartnerContextCodec.class));
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(config, meterRegistry);
+        LoadShedder loadShedder = new LoadShedder(config, meterRegistry, 30_000);
+        store = new StaleResponseStore(restTemplate, resilienceRegistry, signer, concurrencyLimiter, loadShedder, config, meterRegistry);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+            .thenReturn(ResponseEntity.ok("{\"fresh\":true}"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void replaySignsANewPartnerContext() {
+        Instant tokenExpiry = Instant.now().plus(Duration.ofHours(1));
+        StaleResponseStore.Snapshot snapshot = serveStale(new PartnerContext("7", "P007", "ext-7", tokenExpiry));
+
+        assertThat(snapshot.headers()).doesNotContainKey(PartnerContextConstants.PARTNER_CONTEXT_HEADER);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<HttpEntity<?>> replayed = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, timeout(2000)).exchange(eq("http://" + SERVICE + PATH), eq(HttpMethod.GET), replayed.capture(), eq(String.class));
+
+        String header = replayed.getValue().getHeaders().getFirst(PartnerContextConstants.PARTNER_CONTEXT_HEADER);
+        assertThat(header).isNotEqualTo("signed-for-the-original-request");
+        PartnerContext forwarded = CODEC.decode(header);
+        assertThat(forwarded).isNotNull();
+        assertThat(forwarded.internalPartnerId()).isEqualTo("P007");
+        assertThat(forwarded.expiresAt()).isAfter(Instant.now()).isBefore(tokenExpiry);
+    }
+
+    @Test
+    void replayStopsOnceThePartnersTokenHasExpired() {
+        serveStale(new PartnerContext("7", "P007", null, Instant.now().minusSeconds(1)));
+
+        verify(restTemplate, after(300).never()).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class));
+    }
+
+    @Test
+    void replayWithoutPartnerForwardsNoPartnerContext() {
+        serveStale(null);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<HttpEntity<?>> replayed = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, timeout(2000)).exchange(anyString(), eq(HttpMethod.GET), replayed.capture(), eq(String.class));
+        assertThat(replayed.getValue().getHeaders()).doesNotContainKey(PartnerContextConstants.PARTNER_CONTEXT_HEADER);
+    }
+
+    @Test
+    void replayCarriesTheRoutesDeadlineAndReleasesItsPermit() {
+        serveStale(null);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<HttpEntity<?>> replayed = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, timeout(2000)).exchange(anyString(), eq(HttpMethod.GET), replayed.capture(), eq(String.class));
+        long deadlineMillis = Long.parseLong(replayed.getValue().getHeaders().getFirst(DeadlineContext.HEADER));
+        assertThat(deadlineMillis).isPositive().isLessThanOrEqualTo(30_000);
+
+        // The permit is released after the call returns
+        verify(restTemplate, after(300)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class));
+        assertThat(meterRegistry.get("gateway.concurrency.inflight").tag("service", SERVICE).gauge().value()).isZero();
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void replayIsSkippedWhileTheBulkheadIsFull() {
+        assertThat(bulkhead.tryAcquirePermission()).isTrue();
+
+        serveStale(null);
+
+        verify(restTemplate, after(300).never()).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class));
+        assertThat(meterRegistry.get("gateway.concurrency.inflight").tag("service", SERVICE).gauge().value()).isZero();
+    }
+
+    /**
+     * Keeps a response for the request and serves it stale, which replays the request in the background.
+     */
+    private StaleResponseStore.Snapshot serveStale(PartnerContext partner) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.addHeader(PartnerContextConstants.PARTNER_CONTEXT_HEADER, "sent-by-the-client");
+        if (partner != null) {
+            request.setAttribute(AuthenticationFilter.PARTNER_CONTEXT_ATTRIBUTE, "signed-for-the-original-request");
+            request.setAttribute(AuthenticationFilter.PARTNER_ATTRIBUTE, partner);
+        }
+        StaleResponseStore.Snapshot snapshot = store.capture(route(), PATH, HttpMethod.GET, new HttpHeaders(), request);
+        store.put(snapshot, ResponseEntity.ok("{\"fresh\":false}"));
+
+        ResponseEntity<String> stale = store.serveStale(snapshot);
+        assertThat(stale.getBody()).isEqualTo("{\"fresh\":false}");
+        assertThat(stale.getHeaders().getFirst(HttpHeaders.WARNING)).startsWith("110");
+        return snapshot;
+    }
+
+    private static GatewayRouteConfig.Route route() {
+        GatewayRouteConfig.Route route = new GatewayRouteConfig.Route();
+        route.setPath("/api/accounts/**");
+        route.setService(SERVICE);
+        route.getStaleFallback().setEnabled(true);
+        route.getStaleFallback().setVaryHeaders(List.of());
+        return route;
+    }
+}
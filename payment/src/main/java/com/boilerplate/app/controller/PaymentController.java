@@ -1,5 +1,6 @@
 package com.boilerplate.app.controller;
 
+import com.boilerplate.app.base.model.PartnerContext;
 import com.boilerplate.app.model.dto.request.InquiryRequest;
 import com.boilerplate.app.model.dto.request.PaymentRequest;
 import com.boilerplate.app.model.dto.response.BillerResponse;
@@ -7,16 +8,20 @@ import com.boilerplate.app.model.dto.response.InquiryResponse;
 import com.boilerplate.app.model.dto.response.PaymentResponse;
 import com.boilerplate.app.service.PaymentService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 
 @Slf4j
@@ -34,13 +39,20 @@ public class PaymentController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved list of billers"),
+        @ApiResponse(responseCode = "304", description = "Billers unchanged since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping(value = "/billers", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<BillerResponse>> getBillers() {
+    public ResponseEntity<List<BillerResponse>> getBillers(WebRequest webRequest) {
         log.info("Received request to get all billers");
+        if (webRequest.checkNotModified(paymentService.getBillersETag())) {
+            return null;
+        }
         List<BillerResponse> billers = paymentService.getAllBillers();
-        return ResponseEntity.ok(billers);
+        // Same catalog for every partner; lets the gateway and clients reuse it for a minute
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic())
+            .body(billers);
     }
 
     @Operation(
@@ -54,9 +66,11 @@ public class PaymentController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping(value = "/inquiry", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<InquiryResponse> inquiry(@Valid @RequestBody InquiryRequest request) {
-        log.info("Received inquiry request: billerCode={}, customerNumber={}", 
-                request.getBillerCode(), request.getCustomerNumber());
+    public ResponseEntity<InquiryResponse> inquiry(
+            @Valid @RequestBody InquiryRequest request,
+            @Parameter(hidden = true) PartnerContext partner) {
+        log.info("Received inquiry request: partner={}, billerCode={}, customerNumber={}",
+                partnerOf(partner), request.getBillerCode(), request.getCustomerNumber());
         InquiryResponse response = paymentService.inquiry(request);
         return ResponseEntity.ok(response);
     }
@@ -72,10 +86,19 @@ public class PaymentController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping(value = "/payment", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<PaymentResponse> payment(@Valid @RequestBody PaymentRequest request) {
-        log.info("Received payment request: billerCode={}, customerNumber={}, amount={}", 
-                request.getBillerCode(), request.getCustomerNumber(), request.getAmount());
+    public ResponseEntity<PaymentResponse> payment(
+            @Valid @RequestBody PaymentRequest request,
+            @Parameter(hidden = true) PartnerContext partner) {
+        log.info("Received payment request: partner={}, billerCode={}, customerNumber={}, amount={}",
+                partnerOf(partner), request.getBillerCode(), request.getCustomerNumber(), request.getAmount());
         PaymentResponse response = paymentService.processPayment(request);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Partner code verified by the gateway, without parsing the token again
+     */
+    private static String partnerOf(PartnerContext partner) {
+        return partner != null ? partner.internalPartnerId() : null;
+    }
 }
@@ -0,0 +1,26 @@
+package com.boilerplate.app.exception;
+
+import com.boilerplate.app.base.exception.DeadlineExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@Slf4j
+@RestControllerAdvice(basePackages = "com.boilerplate.app.controller")
+public class GlobalExceptionHandler {
+
+    /**
+     * The caller's deadline passed, or a query was cancelled at the deadline by the query timeout
+     * core sets on statements; the gateway has given up on the request already.
+     */
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class})
+    public ResponseEntity<ProblemDetail> handleDeadlineExceeded(RuntimeException ex) {
+        log.warn("Request deadline exceeded: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded"));
+    }
+}
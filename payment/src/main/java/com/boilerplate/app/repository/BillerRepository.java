@@ -1,7 +1,9 @@
 package com.boilerplate.app.repository;
 
+import com.boilerplate.app.base.model.DataVersion;
 import com.boilerplate.app.model.entity.Biller;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +14,7 @@ public interface BillerRepository extends JpaRepository<Biller, String> {
     Optional<Biller> findByBillerCode(String billerCode);
     List<Biller> findByStatus(String status);
     List<Biller> findByCategory(String category);
+
+    @Query("select count(b) as count, max(b.updatedAt) as lastModified from Biller b")
+    DataVersion findDataVersion();
 }
@@ -1,5 +1,6 @@
 package com.boilerplate.app.service;
 
+import com.boilerplate.app.base.util.ETagUtil;
 import com.boilerplate.app.model.dto.request.InquiryRequest;
 import com.boilerplate.app.model.dto.request.PaymentRequest;
 import com.boilerplate.app.model.dto.response.BillerResponse;
@@ -27,6 +28,15 @@ public class PaymentService {
     private final BillerRepository billerRepository;
     private final PaymentRepository paymentRepository;
 
+    /**
+     * ETag of the biller list, derived from row count and latest updated_at
+     * so it can be checked without loading the billers.
+     */
+    @Transactional(readOnly = true)
+    public String getBillersETag() {
+        return ETagUtil.fromVersion("billers", billerRepository.findDataVersion());
+    }
+
     public List<BillerResponse> getAllBillers() {
         return billerRepository.findByStatus("ACTIVE").stream()
                 .map(this::mapToBillerResponse)